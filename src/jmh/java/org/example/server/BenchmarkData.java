@@ -0,0 +1,44 @@
+package org.example.server;
+
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Realistic-looking rows shared by the benchmarks. Seeded, so every run measures the same data.
+public final class BenchmarkData {
+
+    private static final StatusEnum[] STATUSES = StatusEnum.values();
+
+    private BenchmarkData() {
+    }
+
+    // Every column filled in, so the mapper does all of its conversions.
+    public static JobApplicationEntity application(UserEntity owner, int i) {
+        LocalDateTime appliedAt = LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(i * 7L);
+
+        JobApplicationEntity application = new JobApplicationEntity();
+        application.setId(new UUID(0x5eedL, i));
+        application.setUser(owner);
+        application.setJob_title("Software Engineer " + (i % 40));
+        application.setCompany_name("Company " + (i % 300));
+        application.setLocation(i % 3 == 0 ? "Remote" : "Berlin, Germany");
+        application.setStatus(STATUSES[i % STATUSES.length]);
+        application.setJob_post_url("https://jobs.example.org/postings/" + i);
+        application.setResume_url("documents/" + "a".repeat(64) + ".pdf");
+        application.setApplication_date(appliedAt);
+        application.setCreated_at(appliedAt);
+        application.setUpdated_at(appliedAt.plusDays(2));
+        return application;
+    }
+
+    public static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setAuth0_id("auth0|benchmark-" + UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Benchmark");
+        return user;
+    }
+}
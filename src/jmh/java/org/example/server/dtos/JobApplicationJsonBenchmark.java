@@ -0,0 +1,67 @@
+package org.example.server.dtos;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.server.BenchmarkData;
+import org.example.server.entities.UserEntity;
+import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Writing a page of applications the way the message converter does: a typed writer from the
+// Spring-configured ObjectMapper, straight to the response stream.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobApplicationJsonBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int rows;
+
+    private ObjectWriter writer;
+
+    private List<JobApplicationDto> applications;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(new TypeReference<List<JobApplicationDto>>() {});
+
+        JobApplicationMapper mapper = new JobApplicationMapperImpl();
+        UserEntity owner = BenchmarkData.user();
+        applications = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            applications.add(mapper.jobEntityToJobDto(BenchmarkData.application(owner, i)));
+        }
+    }
+
+    @Benchmark
+    public void writeList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), applications);
+    }
+
+    @Benchmark
+    public byte[] writeListToBytes() throws IOException {
+        return writer.writeValueAsBytes(applications);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.server.mappers;
+
+import org.example.server.BenchmarkData;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobApplicationMapperBenchmark {
+
+    private final JobApplicationMapper mapper = new JobApplicationMapperImpl();
+
+    private JobApplicationEntity application;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkData.application(BenchmarkData.user(), 1);
+    }
+
+    @Benchmark
+    public JobApplicationDto jobEntityToJobDto() {
+        return mapper.jobEntityToJobDto(application);
+    }
+
+    // The LocalDateTime -> LocalDate conversion the mapper does for both date fields, on its own.
+    @Benchmark
+    public LocalDate toLocalDate() {
+        return application.getUpdated_at().toLocalDate();
+    }
+}
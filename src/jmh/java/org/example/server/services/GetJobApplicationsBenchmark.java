@@ -0,0 +1,126 @@
+package org.example.server.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.BenchmarkData;
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.UserEntity;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The whole list path (summary check, keyset query, hydration, mapping) against H2 migrated by
+// Flyway, with the real Hibernate settings from application.yml.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GetJobApplicationsBenchmark {
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan("org.example.server.entities")
+    @EnableJpaRepositories("org.example.server.repositories")
+    @Import({JobApplicationService.class, UserSummaryService.class, JobApplicationMapperImpl.class})
+    static class ReadPathConfig {
+
+        // The list path never touches documents.
+        @Bean
+        DocumentService documentService() {
+            return new DocumentService(null, null);
+        }
+
+        @Bean
+        ServiceMetrics serviceMetrics() {
+            return new ServiceMetrics(new SimpleMeterRegistry());
+        }
+    }
+
+    @Param({"1000"})
+    private int applications;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private JobApplicationService jobApplicationService;
+
+    private AuthenticatedUser user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReadPathConfig.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.show-sql=false"
+                );
+        jobApplicationService = context.getBean(JobApplicationService.class);
+
+        UserEntity owner = context.getBean(UserRepository.class).save(BenchmarkData.user());
+        List<JobApplicationEntity> rows = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            JobApplicationEntity application = BenchmarkData.application(owner, i);
+            application.setId(null);
+            rows.add(application);
+        }
+        context.getBean(JobApplicationRepository.class).saveAll(rows);
+
+        // Counts the seeded rows into the summary the list endpoint checks first
+        context.getBean(UserSummaryService.class).getSummary(owner.getId());
+        user = new AuthenticatedUser(owner.getId(), owner.getAuth0_id(), owner.getEmail(), owner.getName());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApplicationPageDto firstPage() {
+        return jobApplicationService.getJobApplications(user, null, null, pageSize);
+    }
+}
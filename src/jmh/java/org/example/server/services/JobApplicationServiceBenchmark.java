@@ -0,0 +1,41 @@
+package org.example.server.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobApplicationServiceBenchmark {
+
+    // Accepted, unknown extension, no extension at all
+    @Param({"resume.pdf", "resume.exe", "resume"})
+    private String fileName;
+
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() {
+        file = new MockMultipartFile("resume_file", fileName, "application/pdf", new byte[64 * 1024]);
+    }
+
+    @Benchmark
+    public boolean isValidFile() {
+        return JobApplicationService.isValidFile(file);
+    }
+}
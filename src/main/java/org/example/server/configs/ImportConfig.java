@@ -0,0 +1,27 @@
+package org.example.server.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ImportConfig {
+
+    @Value("${import.parser-threads:4}")
+    private int parserThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Parses uploaded CSVs while the request thread writes the rows, one thread per running import.
+    @Bean
+    public ExecutorService importExecutor(){
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csv-import-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(parserThreads, Thread.ofPlatform().name("csv-import-", 0).daemon().factory());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.server.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.server.metrics.RequestStatementsFilter;
+import org.example.server.metrics.ServiceTimingInterceptor;
+import org.example.server.metrics.SqlStatementCounter;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.S3Service;
+import org.example.server.services.UserService;
+import org.example.server.timing.RequestTimings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+// Meters on top of what Actuator records by itself (HTTP latency, Hikari, JVM, and Hibernate's
+// statistics through hibernate-micrometer). Scraped from /actuator/prometheus.
+@Configuration
+public class MetricsConfig {
+
+    // Outermost around the services, so the latency includes the transaction commit. Advisors are
+    // created while the post processors are still being set up, hence static & a lazy registry.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        ServiceTimingInterceptor interceptor = new ServiceTimingInterceptor(
+                registry::getObject, JobApplicationService.class, S3Service.class, UserService.class);
+
+        StaticMethodMatcherPointcutAdvisor advisor = new StaticMethodMatcherPointcutAdvisor(interceptor) {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return interceptor.times(ClassUtils.getMostSpecificMethod(method, targetClass));
+            }
+        };
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Outermost filter, so the count is bound before RequestTimingFilter starts its timings.
+    @Bean
+    public FilterRegistrationBean<RequestStatementsFilter> requestStatementsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<RequestStatementsFilter> registration = new FilterRegistrationBean<>(new RequestStatementsFilter(registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Streamed bodies (export, import, document download) are written by the MVC async executor,
+    // not the request thread. Boot applies this to that executor, so their queries & timings still
+    // count towards the request.
+    @Bean
+    public TaskDecorator requestTaskDecorator() {
+        return task -> RequestTimings.propagate(SqlStatementCounter.propagate(task));
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.server.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.mappers.UserMapper;
+import org.example.server.services.S3Service;
+import org.example.server.timing.RequestTimingFilter;
+import org.example.server.timing.RequestTimings;
+import org.example.server.timing.TimedJsonHttpMessageConverter;
+import org.example.server.timing.TimingInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+
+// Per-request timing breakdown: a Server-Timing header on JSON responses and a log line for slow
+// requests. None of these beans exist unless request-timing.enabled is set, so with it off the
+// repositories, mappers & S3 calls are not even proxied for it.
+@Configuration
+@ConditionalOnProperty(prefix = "request-timing", name = "enabled", havingValue = "true")
+public class RequestTimingConfig {
+
+    // Inside the statements filter, whose count the timings read their SQL statements from.
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            @Value("${request-timing.slow-threshold:1s}") Duration slowThreshold,
+            @Value("${request-timing.server-timing-header:true}") boolean serverTimingHeader
+    ) {
+        FilterRegistrationBean<RequestTimingFilter> registration = new FilterRegistrationBean<>(
+                new RequestTimingFilter(slowThreshold, serverTimingHeader));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // Replaces Boot's JSON converter, with the same ObjectMapper.
+    @Bean
+    public TimedJsonHttpMessageConverter timedJsonHttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${request-timing.server-timing-header:true}") boolean serverTimingHeader
+    ) {
+        return new TimedJsonHttpMessageConverter(objectMapper, serverTimingHeader);
+    }
+
+    // Spring Data repositories, connection wait & row mapping included.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor repositoryTimingAdvisor() {
+        return timingAdvisor(RequestTimings.Category.DB, Repository.class);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor s3TimingAdvisor() {
+        return timingAdvisor(RequestTimings.Category.S3, S3Service.class);
+    }
+
+    // Lazy associations loaded while mapping show up here, not under db.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor mapperTimingAdvisor() {
+        return timingAdvisor(RequestTimings.Category.MAPPING, JobApplicationMapper.class, UserMapper.class);
+    }
+
+    // Bearer token validation runs in the security filter chain, inside the timing filter.
+    @Bean
+    public static BeanPostProcessor jwtDecoderTiming() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JwtDecoder decoder)) {
+                    return bean;
+                }
+                return (JwtDecoder) token -> {
+                    RequestTimings timings = RequestTimings.current();
+                    if (timings == null) {
+                        return decoder.decode(token);
+                    }
+                    long start = timings.enter(RequestTimings.Category.AUTH);
+                    try {
+                        return decoder.decode(token);
+                    } finally {
+                        timings.exit(RequestTimings.Category.AUTH, start);
+                    }
+                };
+            }
+        };
+    }
+
+    private static Advisor timingAdvisor(RequestTimings.Category category, Class<?>... targets) {
+        ClassFilter[] filters = new ClassFilter[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            filters[i] = new RootClassFilter(targets[i]);
+        }
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(ClassFilters.union(filters)), new TimingInterceptor(category));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
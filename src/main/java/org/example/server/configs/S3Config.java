@@ -6,7 +6,12 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class S3Config {
@@ -20,6 +25,12 @@ public class S3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    @Value("${aws.upload.io-threads:16}")
+    private int uploadIoThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public S3Client s3Client(){
         AwsBasicCredentials awsBasicCredentials = AwsBasicCredentials.create(accessKey, secretKey);
@@ -27,4 +38,33 @@ public class S3Config {
                 .credentialsProvider(StaticCredentialsProvider.create(awsBasicCredentials))
                 .build();
     }
+
+    // Signs short-lived URLs so browsers can move document bytes to and from S3 directly.
+    @Bean
+    public S3Presigner s3Presigner(){
+        AwsBasicCredentials awsBasicCredentials = AwsBasicCredentials.create(accessKey, secretKey);
+        return S3Presigner.builder().region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(awsBasicCredentials))
+                .build();
+    }
+
+    // Used to push several documents at once without holding a servlet thread per upload.
+    // Documents are capped at 5MB, S3's minimum multipart part size, so every one is a single PUT.
+    @Bean
+    public S3AsyncClient s3AsyncClient(){
+        AwsBasicCredentials awsBasicCredentials = AwsBasicCredentials.create(accessKey, secretKey);
+        return S3AsyncClient.builder().region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(awsBasicCredentials))
+                .build();
+    }
+
+    // Reads upload streams and hands the bytes to the async client. Those reads block on the
+    // spooled multipart file, so in virtual thread mode every upload simply gets its own thread.
+    @Bean
+    public ExecutorService s3UploadExecutor(){
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("s3-upload-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(uploadIoThreads, Thread.ofPlatform().name("s3-upload-", 0).daemon().factory());
+    }
 }
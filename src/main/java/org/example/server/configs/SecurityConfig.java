@@ -22,10 +22,20 @@ public class SecurityConfig {
                 .authorizeHttpRequests((authorize) -> authorize
                         .requestMatchers("/user").authenticated()
                         .requestMatchers("/applications").authenticated()
+                        .requestMatchers("/applications/export").authenticated()
+                        .requestMatchers("/applications/search").authenticated()
                         .requestMatchers("/applications/{id}").authenticated()
+                        .requestMatchers("/applications/{id}/documents/{document}").authenticated()
+                        .requestMatchers("/applications/{id}/documents/{document}/content").authenticated()
                         .requestMatchers(HttpMethod.POST, "/applications").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/applications/batch").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/applications/import").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/applications/{id}").authenticated()
-                        .requestMatchers("/file").authenticated()
+                        .requestMatchers("/documents/**").authenticated()
+                        .requestMatchers("/aggregations/**").authenticated()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Only the scraper's machine-to-machine token carries this scope, not end users' tokens
+                        .requestMatchers("/actuator/prometheus").hasAuthority("SCOPE_metrics:read")
                 )
                 .cors(withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)  // ADD THIS LINE
@@ -0,0 +1,37 @@
+package org.example.server.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.server.datasource.ConcurrencyLimitedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Active with spring.threads.virtual.enabled. Spring Boot then runs Tomcat requests on virtual
+// threads; S3Config & ImportConfig switch their executors over as well.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Request concurrency is no longer capped by Tomcat's 200 threads, so the database is capped
+    // instead: one permit per connection in the Hikari pool, waiting as long as Hikari would.
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConcurrencyLimitedDataSource(
+                            hikari,
+                            hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout())
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,9 +1,33 @@
 package org.example.server.controllers;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.DashboardDto;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.AggregationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
-@RequestMapping
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@RequestMapping("/aggregations")
+@CrossOrigin(
+        origins = "http://localhost:5173",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.OPTIONS}
+)
 public class AggregationController {
+
+    private static final int MAX_WEEKS = 104;
+
+    private final AggregationService aggregationService;
+
+    @GetMapping("/dashboard")
+    private ResponseEntity<DashboardDto> getDashboard(
+            @RequestParam(name = "weeks", defaultValue = "12") int weeks,
+            AuthenticatedUser user
+    ) {
+        DashboardDto dashboard = aggregationService.getDashboard(user, Math.max(1, Math.min(weeks, MAX_WEEKS)));
+        return ResponseEntity.ok(dashboard);
+    }
 }
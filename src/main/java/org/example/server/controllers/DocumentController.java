@@ -0,0 +1,35 @@
+package org.example.server.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.PresignedUrlDto;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@RequestMapping("/documents")
+@CrossOrigin(
+        origins = "http://localhost:5173",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS}
+)
+public class DocumentController {
+
+    private final DocumentService documentService;
+
+    // API's below:
+
+    // The returned key is passed as resume_key / cover_letter_key when creating or updating an application.
+    @PostMapping("/upload-url")
+    private ResponseEntity<PresignedUrlDto> createUploadUrl(
+            @RequestParam(name = "file_name") String fileName,
+            @RequestParam(name = "size") long size,
+            @RequestParam(name = "sha256") String sha256,
+            AuthenticatedUser user
+    ) {
+        return ResponseEntity.status(201).body(documentService.createUploadUrl(user, fileName, size, sha256));
+    }
+}
@@ -2,16 +2,36 @@ package org.example.server.controllers;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.server.documents.DocumentDownload;
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.dtos.BatchRequestDto;
+import org.example.server.dtos.BatchResponseDto;
 import org.example.server.dtos.JobApplicationDto;
+import org.example.server.dtos.PresignedUrlDto;
 import org.example.server.dtos.UpdateJobApplicationDto;
+import org.example.server.entities.StatusEnum;
+import org.example.server.etags.ETags;
+import org.example.server.etags.Versioned;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentCacheService;
+import org.example.server.services.ExportService;
+import org.example.server.services.ImportService;
+import org.example.server.services.JobApplicationBatchService;
 import org.example.server.services.JobApplicationService;
+import org.example.server.services.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,29 +40,166 @@ import java.util.List;
 @CrossOrigin(
         origins = "http://localhost:5173",
         allowedHeaders = "*",
+        exposedHeaders = {JobApplicationController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG,
+                HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_LENGTH},
         methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS}
 )
 public class JobApplicationController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Per user, and always checked with the server, which answers 304 when nothing changed.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final JobApplicationService  jobApplicationService;
 
+    private final ExportService exportService;
+
+    private final JobApplicationBatchService jobApplicationBatchService;
+
+    private final ImportService importService;
+
+    private final SearchService searchService;
+
+    private final DocumentCacheService documentCacheService;
+
     // API's below:
 
     @GetMapping
-    private ResponseEntity<List<JobApplicationDto>> getJobApplications(Authentication auth) {
+    private ResponseEntity<List<JobApplicationDto>> getJobApplications(
+            @RequestParam(name = "status", required = false) StatusEnum status,
+            @RequestParam(name = "company", required = false) String company,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            AuthenticatedUser user
+    ) {
+
+        // Polls are answered from the collection version before any application is loaded.
+        ApplicationFilterDto filter = new ApplicationFilterDto(status, company, from, to);
+        Versioned<ApplicationPageDto> versioned = jobApplicationService.getJobApplications(user, filter, cursor, limit, ifNoneMatch);
+        if (versioned.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versioned.eTag()).cacheControl(REVALIDATE).build();
+        }
+
+        // The body stays a plain array; the cursor for the next page travels in a header.
+        ApplicationPageDto page = versioned.body();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(versioned.eTag()).cacheControl(REVALIDATE);
+        if (page.getNext_cursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext_cursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/export")
+    private ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            AuthenticatedUser user
+    ) {
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        StreamingResponseBody body = exportService.exportApplications(user, exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.getFilename() + "\"")
+                .body(body);
+    }
+
+    // Best matches first; like the list endpoint, the next page's cursor is in X-Next-Cursor.
+    @GetMapping("/search")
+    private ResponseEntity<List<JobApplicationDto>> searchApplications(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            AuthenticatedUser user
+    ) {
+        ApplicationPageDto page = searchService.searchApplications(user, query, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNext_cursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext_cursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // Streams NDJSON events while the import runs: one per rejected line, progress after every batch, then "done".
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    private ResponseEntity<StreamingResponseBody> importApplications(
+            @RequestParam(value = "file") MultipartFile file,
+            AuthenticatedUser user
+    ) {
+        StreamingResponseBody body = importService.importApplications(user, file);
 
-        String userAuth = auth.getName();
-        List<JobApplicationDto> listedApplications = jobApplicationService.getJobApplications(userAuth);
-        return ResponseEntity.ok(listedApplications);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    private ResponseEntity<JobApplicationDto> getJobApplication(@PathVariable("id") String id, Authentication auth) {
+    private ResponseEntity<JobApplicationDto> getJobApplication(
+            @PathVariable("id") String id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            AuthenticatedUser user
+    ) {
+
+        Versioned<JobApplicationDto> application = jobApplicationService.getJobApplication(id, user, ifNoneMatch);
+
+        if (application.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(application.eTag()).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(application.eTag()).cacheControl(REVALIDATE).body(application.body());
+    }
+
+    @GetMapping("/{id}/documents/{document}")
+    private ResponseEntity<PresignedUrlDto> getDocumentUrl(
+            @PathVariable("id") String id,
+            @PathVariable("document") String document,
+            AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(jobApplicationService.getDocumentUrl(id, user, document));
+    }
 
-        String authToken = auth.getName();
-        JobApplicationDto jobApplicationDto = jobApplicationService.getJobApplication(id, authToken);
+    // The document itself, through the local disk cache, for clients that cannot go to S3 directly.
+    // Supports a single Range, If-None-Match & If-Range. The bytes are copied from the cached file
+    // through a buffer into the response, not zero-copy: the servlet stream is no socket channel.
+    @GetMapping("/{id}/documents/{document}/content")
+    private ResponseEntity<StreamingResponseBody> downloadDocument(
+            @PathVariable("id") String id,
+            @PathVariable("document") String document,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            AuthenticatedUser user
+    ) {
+        String key = jobApplicationService.getDocumentKey(id, user, document);
+        DocumentDownload download = documentCacheService.openDownload(key, range, ifNoneMatch, ifRange);
 
-        return ResponseEntity.ok(jobApplicationDto);
+        if (download.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(download.eTag()).cacheControl(REVALIDATE).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(download.isPartial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + key.substring(key.lastIndexOf('/') + 1) + "\"")
+                .cacheControl(REVALIDATE)
+                .eTag(download.eTag());
+        if (download.isPartial()) {
+            response.header(HttpHeaders.CONTENT_RANGE, download.contentRange());
+        }
+        if (download.contentLength() != null) {
+            response.contentLength(download.contentLength());
+        }
+        if (download.contentType() != null) {
+            response.contentType(MediaType.parseMediaType(download.contentType()));
+        }
+        if (download.lastModified() != null) {
+            response.lastModified(download.lastModified());
+        }
+
+        // Copied from the S3 connection or the cached file straight to the client, never buffered whole.
+        return response.body(download.body()::writeTo);
     }
 
     @PostMapping
@@ -54,21 +211,30 @@ public class JobApplicationController {
             @RequestParam(name = "job_post_url") String jobPostUrl,
             @RequestParam(value = "resume_file", required = false) MultipartFile resumeFile,
             @RequestParam(value = "cover_letter_file", required = false) MultipartFile coverLetterFile,
-            Authentication auth
+            @RequestParam(value = "resume_key", required = false) String resumeKey,
+            @RequestParam(value = "cover_letter_key", required = false) String coverLetterKey,
+            AuthenticatedUser user
     ) {
-        String authToken = auth.getName();
         JobApplicationDto createdApplication = jobApplicationService.createApplication(
-                authToken,
+                user,
                 jobTitle,
                 companyName,
                 location,
                 status,
                 jobPostUrl,
                 resumeFile,
-                coverLetterFile
+                coverLetterFile,
+                resumeKey,
+                coverLetterKey
         );
 
-        return ResponseEntity.status(201).body(createdApplication);
+        return ResponseEntity.status(201).eTag(ETags.forApplication(createdApplication.getVersion())).body(createdApplication);
+    }
+
+    // Per-item outcomes are in the body, so the batch as a whole answers 200 even when some items failed.
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    private ResponseEntity<BatchResponseDto> applyBatch(@RequestBody @Valid BatchRequestDto batch, AuthenticatedUser user) {
+        return ResponseEntity.ok(jobApplicationBatchService.applyBatch(user, batch.getOperations()));
     }
 
     @PatchMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -81,28 +247,32 @@ public class JobApplicationController {
             @RequestParam(name = "job_post_url", required = false) String jobPostUrl,
             @RequestParam(value = "resume_file", required = false) MultipartFile resumeFile,
             @RequestParam(value = "cover_letter_file", required = false) MultipartFile coverLetterFile,
-            Authentication auth
+            @RequestParam(value = "resume_key", required = false) String resumeKey,
+            @RequestParam(value = "cover_letter_key", required = false) String coverLetterKey,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            AuthenticatedUser user
     ){
-        String authToken = auth.getName();
         JobApplicationDto response = jobApplicationService.updateApplication(
                 id,
-                authToken,
+                user,
                 jobTitle,
                 companyName,
                 location,
                 status,
                 jobPostUrl,
                 resumeFile,
-                coverLetterFile
+                coverLetterFile,
+                resumeKey,
+                coverLetterKey,
+                ifMatch
         );
 
-        return ResponseEntity.ok().body(response);
+        return ResponseEntity.ok().eTag(ETags.forApplication(response.getVersion())).body(response);
     }
 
     @DeleteMapping("/{id}")
-    private ResponseEntity<Void> deleteApplication(@PathVariable("id") String id, Authentication auth){
-        String authToken = auth.getName();
-        jobApplicationService.deleteApplication(id, authToken);
+    private ResponseEntity<Void> deleteApplication(@PathVariable("id") String id, AuthenticatedUser user){
+        jobApplicationService.deleteApplication(id, user);
         return ResponseEntity.status(204).build();
     }
 }
@@ -1,36 +0,0 @@
-package org.example.server.controllers;
-
-import lombok.RequiredArgsConstructor;
-import org.example.server.exceptions.file.FileNotValid;
-import org.example.server.services.S3Service;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
-
-@RestController
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
-@RequestMapping("/file")
-@CrossOrigin(
-        origins = "http://localhost:5173",
-        allowedHeaders = "*",
-        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS}
-)
-public class S3Controller {
-
-    private final S3Service s3Service;
-
-//    @PostMapping
-//    public ResponseEntity<String> upload(@RequestParam("file") MultipartFile file) throws FileNotValid {
-//        s3Service.uploadFile(file);
-//        return ResponseEntity.ok("File uploaded");
-//    }
-
-    @GetMapping("/{filename}")
-    public ResponseEntity<byte[]> download(@PathVariable("filename") String filename) throws FileNotValid {
-        byte[] data = s3Service.downloadFile(filename);
-        return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION,  "inline; filename=\"" + filename + "\"").body(data);
-    }
-
-}
@@ -0,0 +1,32 @@
+package org.example.server.documents;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+// A document (or a range of it) ready to be copied to the client, either straight from S3 or
+// from the local disk cache. The body must be written exactly once, which also releases it.
+// A not-modified result carries no body, only the validator.
+public record DocumentDownload(
+        boolean notModified,
+        String eTag,
+        Long contentLength,
+        String contentRange,
+        String contentType,
+        Instant lastModified,
+        Body body
+) {
+
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public static DocumentDownload notModified(String eTag) {
+        return new DocumentDownload(true, eTag, null, null, null, null, null);
+    }
+
+    public boolean isPartial() {
+        return contentRange != null;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.server.documents;
+
+import java.io.IOException;
+
+// Raised from inside a document stream, so it travels through the S3 SDK as an I/O failure.
+public class DocumentRejectedException extends IOException {
+    public DocumentRejectedException(String message) {
+        super(message);
+    }
+}
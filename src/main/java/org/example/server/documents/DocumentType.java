@@ -0,0 +1,63 @@
+package org.example.server.documents;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// The document formats we accept, with the leading bytes each one must start with.
+public enum DocumentType {
+
+    PDF("pdf", "application/pdf", new byte[]{'%', 'P', 'D', 'F', '-'}),
+    DOC("doc", "application/msword",
+            new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1}),
+    DOCX("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            new byte[]{'P', 'K', 0x03, 0x04}),
+    // Plain text has no signature; it is sniffed for NUL bytes instead.
+    TXT("txt", "text/plain", new byte[0]);
+
+    public static final long MAX_SIZE_BYTES = 5 * 1024 * 1024;
+
+    // How much of the head of a file is inspected before any of it is uploaded.
+    public static final int SNIFF_LENGTH = 512;
+
+    private final String extension;
+    private final String contentType;
+    private final byte[] magic;
+
+    DocumentType(String extension, String contentType, byte[] magic) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.magic = magic;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static Optional<DocumentType> fromFilename(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            return Optional.empty();
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+        return Arrays.stream(values()).filter(type -> type.extension.equals(extension)).findFirst();
+    }
+
+    // @head holds the first @length bytes of the file (fewer only when the file is shorter).
+    public boolean matches(byte[] head, int length) {
+        if (this == TXT) {
+            for (int i = 0; i < length; i++) {
+                if (head[i] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (length < magic.length) {
+            return false;
+        }
+        return Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+}
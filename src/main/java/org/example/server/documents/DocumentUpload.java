@@ -0,0 +1,7 @@
+package org.example.server.documents;
+
+import org.springframework.web.multipart.MultipartFile;
+
+// A file to PUT under @key. S3 recomputes the checksum and rejects the body if it differs.
+public record DocumentUpload(String key, MultipartFile file, String sha256Base64) {
+}
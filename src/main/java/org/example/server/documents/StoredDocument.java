@@ -0,0 +1,15 @@
+package org.example.server.documents;
+
+import java.util.UUID;
+
+// A document that is in S3 under its content address. @uploaded is false when the object was
+// already there (or put there by the browser) and this request sent no bytes for it.
+public record StoredDocument(String key, String sha256, DocumentType type, long size, boolean uploaded) {
+
+    public static final String KEY_PREFIX = "documents/";
+
+    // Addresses are per user, so whether some content is stored says nothing about other users' files.
+    public static String keyFor(UUID userId, String sha256, DocumentType type) {
+        return KEY_PREFIX + userId + "/" + sha256 + "." + type.getExtension();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.server.documents;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+// Wraps an upload so it is validated while it streams. The extension and the leading bytes are
+// checked before anything is sent. The size limit is enforced on the bytes actually read, so a
+// bad file fails part way through instead of being buffered in full first.
+public class ValidatedDocumentStream extends FilterInputStream {
+
+    private final DocumentType type;
+
+    private final long maxBytes;
+
+    private long bytesRead;
+
+    private ValidatedDocumentStream(InputStream in, DocumentType type, long maxBytes) {
+        super(in);
+        this.type = type;
+        this.maxBytes = maxBytes;
+    }
+
+    // Takes ownership of the given stream: it is closed here if the document is rejected.
+    public static ValidatedDocumentStream open(InputStream in, String filename, long maxBytes) throws IOException {
+        try {
+            DocumentType type = DocumentType.fromFilename(filename)
+                    .orElseThrow(() -> new DocumentRejectedException("Unsupported file type: " + filename));
+
+            PushbackInputStream pushback = new PushbackInputStream(in, DocumentType.SNIFF_LENGTH);
+            byte[] head = new byte[DocumentType.SNIFF_LENGTH];
+            int length = pushback.readNBytes(head, 0, head.length);
+            if (!type.matches(head, length)) {
+                throw new DocumentRejectedException("File content does not match its ." + type.getExtension() + " extension");
+            }
+            pushback.unread(head, 0, length);
+
+            return new ValidatedDocumentStream(pushback, type, maxBytes);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public DocumentType getType() {
+        return type;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    private void count(int read) throws DocumentRejectedException {
+        bytesRead += read;
+        if (bytesRead > maxBytes) {
+            throw new DocumentRejectedException("File is larger than " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.server.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.server.entities.StatusEnum;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApplicationFilterDto {
+
+    private StatusEnum status;
+    private String company_name;
+    // Inclusive bounds on the application date.
+    private LocalDate applied_from;
+    private LocalDate applied_to;
+}
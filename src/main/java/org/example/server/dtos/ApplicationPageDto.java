@@ -0,0 +1,17 @@
+package org.example.server.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApplicationPageDto {
+
+    private List<JobApplicationDto> items;
+    // Opaque cursor for the next page, null when this is the last page.
+    private String next_cursor;
+}
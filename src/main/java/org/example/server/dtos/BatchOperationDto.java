@@ -0,0 +1,30 @@
+package org.example.server.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.URL;
+
+// One entry of a batch. create needs the fields a new application requires, update sends only
+// what changes, delete only needs the id.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchOperationDto {
+
+    public enum Op { CREATE, UPDATE, DELETE }
+
+    @NotNull(message = "Operation cannot be null.")
+    private Op op;
+    private String id;
+    @Size(min = 2, max = 20)
+    private String job_title;
+    @Size(min = 2, max = 50)
+    private String company_name;
+    private String location;
+    private String status;
+    @URL
+    private String job_post_url;
+}
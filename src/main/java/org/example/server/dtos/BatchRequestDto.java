@@ -0,0 +1,17 @@
+package org.example.server.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequestDto {
+
+    @NotEmpty(message = "Operations cannot be empty.")
+    private List<BatchOperationDto> operations;
+}
@@ -0,0 +1,17 @@
+package org.example.server.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponseDto {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchResultDto> results;
+}
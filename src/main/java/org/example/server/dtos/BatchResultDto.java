@@ -0,0 +1,20 @@
+package org.example.server.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one batch entry, in request order. status is the HTTP status the single-item
+// endpoint would have answered with; error is set only when it failed.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResultDto {
+
+    private int index;
+    private BatchOperationDto.Op op;
+    private String id;
+    private int status;
+    private String error;
+    private JobApplicationDto application;
+}
@@ -0,0 +1,20 @@
+package org.example.server.dtos;
+
+import lombok.Data;
+import org.example.server.entities.StatusEnum;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class DashboardDto {
+
+    private Map<StatusEnum, Long> status_counts;
+    private long total_applications;
+    private List<WeeklyApplicationsDto> applications_per_week;
+    // Rates are between 0 and 1, null when there is nothing to divide by.
+    private Double applied_to_interview_rate;
+    private Double interview_to_offer_rate;
+    private Double applied_to_offer_rate;
+    private Double median_days_to_first_response;
+}
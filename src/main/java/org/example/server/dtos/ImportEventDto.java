@@ -0,0 +1,22 @@
+package org.example.server.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the import's NDJSON response. "error" events name the CSV line that was skipped,
+// "progress" follows every written batch and "done" closes the stream with the final counts.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDto {
+
+    private String type;
+    private Long line;
+    private String error;
+    private long processed;
+    private long imported;
+    private long failed;
+}
@@ -34,4 +34,6 @@ public class JobApplicationDto {
     private LocalDate application_date;
     @JsonFormat(pattern = "MM/dd/yyyy")
     private LocalDate updated_at;
+    // Same value as the ETag, for clients that keep the application around.
+    private Long version;
 }
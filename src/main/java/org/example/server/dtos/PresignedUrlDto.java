@@ -0,0 +1,24 @@
+package org.example.server.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUrlDto {
+
+    private String url;
+    private String method;
+    // The object key to send back as resume_key / cover_letter_key once the upload is done.
+    private String key;
+    // Headers the client must send exactly as given, they are part of the signature.
+    private Map<String, String> headers;
+    private Instant expires_at;
+    // False when the content is already stored; the key can be attached right away.
+    private boolean upload_required;
+}
@@ -0,0 +1,20 @@
+package org.example.server.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeeklyApplicationsDto {
+
+    @JsonFormat(pattern = "MM/dd/yyyy")
+    private LocalDate week_start;
+    private long applications;
+    // Running total up to and including this week.
+    private long cumulative;
+}
@@ -0,0 +1,45 @@
+package org.example.server.entities;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One row per stored S3 object. Objects are keyed by user & SHA-256, so every application of a user
+// that attaches the same file shares it; ref_count is how many application fields point at it.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "document")
+public class DocumentEntity {
+
+    @Id
+    @Column(
+            name = "s3_key",
+            nullable = false,
+            unique = true
+    )
+    private String s3_key;
+
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "content_type", nullable = false)
+    private String content_type;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long size_bytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private long ref_count;
+
+    @Column(name = "created_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    @CreationTimestamp
+    private LocalDateTime created_at;
+}
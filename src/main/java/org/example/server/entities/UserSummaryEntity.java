@@ -0,0 +1,53 @@
+package org.example.server.entities;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Denormalized per-user counters, kept in step with job_application by JobApplicationService.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "user_summary")
+public class UserSummaryEntity {
+
+    @Id
+    @Column(
+            name = "user_id",
+            nullable = false,
+            unique = true
+    )
+    private UUID user_id;
+
+    @Column(name = "saved_count", nullable = false)
+    private long saved_count;
+
+    @Column(name = "applied_count", nullable = false)
+    private long applied_count;
+
+    @Column(name = "interview_count", nullable = false)
+    private long interview_count;
+
+    @Column(name = "offer_count", nullable = false)
+    private long offer_count;
+
+    @Column(name = "rejected_count", nullable = false)
+    private long rejected_count;
+
+    @Column(name = "total_applications", nullable = false)
+    private long total_applications;
+
+    // Bumped by every write to the user's applications; the ETag of the list endpoint.
+    @Column(name = "collection_version", nullable = false)
+    private long collection_version;
+
+    @Column(name = "last_activity_at", nullable = true)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime last_activity_at;
+}
@@ -0,0 +1,43 @@
+package org.example.server.etags;
+
+import java.util.Arrays;
+
+// Strong ETags built from version counters, so they can be compared without rendering the body.
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forApplication(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The list of a user's applications, for every filter & page at once.
+    public static String forCollection(long collectionVersion) {
+        return "\"c" + collectionVersion + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ added by a proxy still matches.
+    public static boolean noneMatchHits(String ifNoneMatch, String eTag) {
+        return matches(ifNoneMatch, eTag, true);
+    }
+
+    // If-Match uses the strong comparison.
+    public static boolean matchHits(String ifMatch, String eTag) {
+        return matches(ifMatch, eTag, false);
+    }
+
+    private static boolean matches(String header, String eTag, boolean weak) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        if (header.trim().equals("*")) {
+            return true;
+        }
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(candidate -> weak || !candidate.startsWith("W/"))
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(eTag::equals);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.server.etags;
+
+// A response body with its ETag. The body is null when the client's copy is still current.
+public record Versioned<T>(String eTag, T body) {
+
+    public static <T> Versioned<T> notModified(String eTag) {
+        return new Versioned<>(eTag, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
@@ -2,6 +2,7 @@ package org.example.server.exception_handlers;
 
 import org.example.server.exceptions.ApplicationException;
 import org.example.server.exceptions.user.UserNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -15,4 +16,11 @@ public class GlobalExceptionHandler {
         ErrorResponse error = new ErrorResponse(e.getMessage(), e.getHttpStatus().value());
         return ResponseEntity.status(e.getHttpStatus()).body(error);
     }
+
+    // A versioned UPDATE lost against a concurrent write to the same row.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        ErrorResponse error = new ErrorResponse("Application was changed by another request, reload and try again", HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
@@ -0,0 +1,10 @@
+package org.example.server.exceptions.file;
+
+import org.example.server.exceptions.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class FileNotFound extends ApplicationException {
+    public FileNotFound(String message) {
+        super(message, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.server.exceptions.file;
+
+import org.example.server.exceptions.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class FileUploadFailed extends ApplicationException {
+    public FileUploadFailed(String message) {
+        super(message, HttpStatus.BAD_GATEWAY);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.server.exceptions.file;
+
+import org.example.server.exceptions.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class RangeNotSatisfiable extends ApplicationException {
+    public RangeNotSatisfiable(String message) {
+        super(message, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.server.exceptions.job_application;
+
+import lombok.Getter;
+import org.example.server.exceptions.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ApplicationVersionMismatch extends ApplicationException {
+    public ApplicationVersionMismatch(String message) {
+
+        super(message, HttpStatus.PRECONDITION_FAILED);
+    }
+}
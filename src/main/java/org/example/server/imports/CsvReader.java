@@ -0,0 +1,150 @@
+package org.example.server.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads RFC 4180 CSV one record at a time: quoted fields, "" escapes and line breaks inside
+// quotes. Only the current record is held in memory, and it is capped so one runaway quoted
+// field cannot take the whole upload with it.
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+
+    private final int maxRecordLength;
+
+    private long lineNumber = 1;
+
+    private long recordLine;
+
+    private int peeked = -2;
+
+    public CsvReader(Reader in, int maxRecordLength) {
+        this.in = in;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // Line the last record returned by readRecord() started on, counting from 1.
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    // Returns null at the end of the input. Blank lines are skipped.
+    public List<String> readRecord() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                consumeLineBreak(c);
+                continue;
+            }
+            unread(c);
+            recordLine = lineNumber;
+            return readFields();
+        }
+    }
+
+    private List<String> readFields() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+
+        while (true) {
+            int c = read();
+            if (++length > maxRecordLength) {
+                skipRestOfRecord(c, quoted);
+                throw new MalformedCsvException("Row is longer than " + maxRecordLength + " characters", recordLine);
+            }
+
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field", recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    // Moves past an over-long record so the next call starts on the following one.
+    private void skipRestOfRecord(int c, boolean quoted) throws IOException {
+        while (c != -1) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '\r' || c == '\n')) {
+                consumeLineBreak(c);
+                return;
+            } else if (c == '\n') {
+                lineNumber++;
+            }
+            c = read();
+        }
+    }
+
+    private void consumeLineBreak(int c) throws IOException {
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                unread(next);
+            }
+        }
+        lineNumber++;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        int c = read();
+        unread(c);
+        return c;
+    }
+
+    private void unread(int c) {
+        peeked = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.server.imports;
+
+import org.example.server.dtos.JobApplicationDto;
+
+// One parsed CSV line on its way from the parser to the writer: either a valid application or
+// the reason the line was rejected.
+public record ImportRow(long line, JobApplicationDto application, String error) {
+
+    // Put on the queue last, after the final row.
+    public static final ImportRow END = new ImportRow(-1, null, null);
+
+    public static ImportRow valid(long line, JobApplicationDto application) {
+        return new ImportRow(line, application, null);
+    }
+
+    public static ImportRow rejected(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
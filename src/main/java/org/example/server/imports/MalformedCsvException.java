@@ -0,0 +1,19 @@
+package org.example.server.imports;
+
+import java.io.IOException;
+
+// A record that cannot be parsed at all. The reader is left at the next record, so the import
+// reports the line and carries on.
+public class MalformedCsvException extends IOException {
+
+    private final long line;
+
+    public MalformedCsvException(String message, long line) {
+        super(message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
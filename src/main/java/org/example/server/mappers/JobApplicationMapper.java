@@ -11,8 +11,9 @@ public interface JobApplicationMapper {
     JobApplicationDto jobEntityToJobDto(JobApplicationEntity job);
 
 //    @Mapping(target = "id", ignore = true)           // Let JPA auto-generate the ID
-//    @Mapping(target = "user", ignore = true)         // You set this manually in service
-//    @Mapping(target = "created_at", ignore = true)   // Let @CreationTimestamp handle this
 //    @Mapping(target = "updated_at", ignore = true)   // Let @UpdateTimestamp handle this
+    @Mapping(target = "user", ignore = true)                // You set this manually in service
+    @Mapping(target = "created_at", ignore = true)          // Let @CreationTimestamp handle this
+    @Mapping(target = "first_response_at", ignore = true)   // Set by the service when the status first moves on
     JobApplicationEntity jobDtoToJobEntity(JobApplicationDto jobDto);
 }
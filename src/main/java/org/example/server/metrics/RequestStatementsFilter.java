@@ -0,0 +1,86 @@
+package org.example.server.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Records how many SQL statements each request sent, so a change that adds queries to an
+// endpoint shows up as a shift in this distribution. A request that goes async is recorded once,
+// when the container completes it, with the statements of every dispatch & of its streamed body.
+public class RequestStatementsFilter extends OncePerRequestFilter {
+
+    private static final String COUNT_ATTRIBUTE = RequestStatementsFilter.class.getName() + ".count";
+
+    private final DistributionSummary statementsPerRequest;
+
+    public RequestStatementsFilter(MeterRegistry registry) {
+        this.statementsPerRequest = DistributionSummary.builder("jobtracker.request.statements")
+                .description("SQL statements sent while serving one request")
+                .baseUnit("statements")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean asyncDispatch = isAsyncDispatch(request);
+        SqlStatementCounter.Count count = asyncDispatch
+                ? (SqlStatementCounter.Count) request.getAttribute(COUNT_ATTRIBUTE)
+                : new SqlStatementCounter.Count();
+        SqlStatementCounter.Count previous = SqlStatementCounter.bind(count);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.restore(previous);
+            if (!asyncDispatch) {
+                if (isAsyncStarted(request)) {
+                    request.setAttribute(COUNT_ATTRIBUTE, count);
+                    request.getAsyncContext().addListener(new CompletionListener(count));
+                } else {
+                    statementsPerRequest.record(count.statements());
+                }
+            }
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final SqlStatementCounter.Count count;
+
+        private CompletionListener(SqlStatementCounter.Count count) {
+            this.count = count;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            statementsPerRequest.record(count.statements());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Starting async again hands out a new context without its listeners, so re-register.
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
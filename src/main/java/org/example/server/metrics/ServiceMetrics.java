@@ -0,0 +1,72 @@
+package org.example.server.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Counters the services update directly. Every meter is registered up front, so recording is an
+// increment on an existing counter and never builds tags or looks anything up by name.
+@Component
+public class ServiceMetrics {
+
+    public enum S3Operation {
+        UPLOAD, DOWNLOAD, HEAD, DELETE
+    }
+
+    private final Counter s3BytesIn;
+
+    private final Counter s3BytesOut;
+
+    private final Counter[] s3Errors = new Counter[S3Operation.values().length];
+
+    private final Counter resumesRejected;
+
+    private final Counter coverLettersRejected;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.s3BytesIn = Counter.builder("jobtracker.s3.bytes")
+                .description("Document bytes transferred to or from S3")
+                .baseUnit("bytes")
+                .tag("direction", "in")
+                .register(registry);
+        this.s3BytesOut = Counter.builder("jobtracker.s3.bytes")
+                .description("Document bytes transferred to or from S3")
+                .baseUnit("bytes")
+                .tag("direction", "out")
+                .register(registry);
+
+        for (S3Operation operation : S3Operation.values()) {
+            s3Errors[operation.ordinal()] = Counter.builder("jobtracker.s3.errors")
+                    .description("S3 calls that failed, or timed out for uploads")
+                    .tag("operation", operation.name().toLowerCase())
+                    .register(registry);
+        }
+
+        this.resumesRejected = rejectedUploads(registry, "resume");
+        this.coverLettersRejected = rejectedUploads(registry, "cover_letter");
+    }
+
+    private static Counter rejectedUploads(MeterRegistry registry, String document) {
+        return Counter.builder("jobtracker.uploads.rejected")
+                .description("Uploaded files refused by the extension & size checks before reaching S3")
+                .tag("document", document)
+                .register(registry);
+    }
+
+    public void s3BytesIn(long bytes) {
+        s3BytesIn.increment(bytes);
+    }
+
+    public void s3BytesOut(long bytes) {
+        s3BytesOut.increment(bytes);
+    }
+
+    public void s3Error(S3Operation operation) {
+        s3Errors[operation.ordinal()].increment();
+    }
+
+    // @document is "resume" or "cover_letter", like the multipart parts.
+    public void uploadRejected(String document) {
+        ("resume".equals(document) ? resumesRejected : coverLettersRejected).increment();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Times every public method of the given services, transaction commit included when it runs outside
+// the transactional advice. The success & error timers for all methods are registered together on
+// the first call; after that a call only reads the clock twice and records into one of them.
+public class ServiceTimingInterceptor implements MethodInterceptor {
+
+    private static final int SUCCESS = 0;
+
+    private static final int ERROR = 1;
+
+    private final Map<Method, Class<?>> services = new HashMap<>();
+
+    // The registry is only asked for once the app is running, after Actuator has configured it.
+    private final Supplier<MeterRegistry> registry;
+
+    private volatile Map<Method, Timer[]> timers;
+
+    public ServiceTimingInterceptor(Supplier<MeterRegistry> registry, Class<?>... services) {
+        this.registry = registry;
+        for (Class<?> service : services) {
+            for (Method method : service.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) {
+                    this.services.put(method, service);
+                }
+            }
+        }
+    }
+
+    public boolean times(Method method) {
+        return services.containsKey(method);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] methodTimers = timers().get(invocation.getMethod());
+        if (methodTimers == null) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        int outcome = ERROR;
+        try {
+            Object result = invocation.proceed();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            methodTimers[outcome].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<Method, Timer[]> timers() {
+        Map<Method, Timer[]> registered = timers;
+        if (registered == null) {
+            synchronized (this) {
+                registered = timers;
+                if (registered == null) {
+                    registered = register(registry.get());
+                    timers = registered;
+                }
+            }
+        }
+        return registered;
+    }
+
+    private Map<Method, Timer[]> register(MeterRegistry meterRegistry) {
+        Map<Method, Timer[]> registered = new HashMap<>();
+        services.forEach((method, service) -> registered.put(method, new Timer[]{
+                timer(meterRegistry, service, method, "success"),
+                timer(meterRegistry, service, method, "error")
+        }));
+        return registered;
+    }
+
+    private static Timer timer(MeterRegistry registry, Class<?> service, Method method, String outcome) {
+        return Timer.builder("jobtracker.service.calls")
+                .description("Latency of service operations")
+                .tag("service", service.getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.server.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Counts the SQL statements Hibernate prepares into the request count bound to the current thread
+// (see RequestStatementsFilter). Every thread that works on a request binds the same count, the
+// async executor writing a streamed body included (see propagate), so it adds up to the request's
+// statements whichever threads sent them. Outside a request nothing is counted.
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final class Count {
+
+        private final AtomicInteger statements = new AtomicInteger();
+
+        public int statements() {
+            return statements.get();
+        }
+    }
+
+    private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+    public static Count current() {
+        return CURRENT.get();
+    }
+
+    // Returns the count bound before, to hand back to restore().
+    static Count bind(Count count) {
+        Count previous = CURRENT.get();
+        CURRENT.set(count);
+        return previous;
+    }
+
+    static void restore(Count previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // Wraps @task, about to be handed to another thread, so its statements count towards the
+    // request submitting it.
+    public static Runnable propagate(Runnable task) {
+        Count count = CURRENT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            Count previous = bind(count);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Count count = CURRENT.get();
+        if (count != null) {
+            count.statements.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.server.repositories;
+
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.repositories.projections.StatusCountView;
+import org.example.server.repositories.projections.WeeklyCountView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Read-only analytics over job_application. Everything is aggregated by Postgres,
+// so only a handful of rows ever come back regardless of how many applications a user has.
+public interface AggregationRepository extends Repository<JobApplicationEntity, UUID> {
+
+    @Query("SELECT j.status AS status, COUNT(j) AS total FROM JobApplicationEntity j " +
+            "WHERE j.user.id = :userId GROUP BY j.status")
+    List<StatusCountView> countByStatus(@Param("userId") UUID userId);
+
+    // Grouped into weeks first, then the running total is taken over the (few) weekly rows.
+    @Query(nativeQuery = true, value = """
+            SELECT w.week_start AS "weekStart",
+                   w.applications AS applications,
+                   CAST(SUM(w.applications) OVER (ORDER BY w.week_start) AS bigint) AS cumulative
+            FROM (
+                SELECT CAST(date_trunc('week', j.application_date) AS date) AS week_start,
+                       COUNT(*) AS applications
+                FROM job_application j
+                WHERE j.fk_id = :userId
+                  AND j.application_date >= :since
+                GROUP BY CAST(date_trunc('week', j.application_date) AS date)
+            ) w
+            ORDER BY w.week_start
+            """)
+    List<WeeklyCountView> countPerWeek(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
+
+    // Median of (first_response_at - application_date) in seconds, null when nobody has answered yet.
+    @Query(nativeQuery = true, value = """
+            SELECT CAST(EXTRACT(EPOCH FROM percentile_cont(0.5)
+                       WITHIN GROUP (ORDER BY j.first_response_at - j.application_date)) AS double precision)
+            FROM job_application j
+            WHERE j.fk_id = :userId
+              AND j.first_response_at IS NOT NULL
+              AND j.application_date IS NOT NULL
+            """)
+    Double medianSecondsToFirstResponse(@Param("userId") UUID userId);
+}
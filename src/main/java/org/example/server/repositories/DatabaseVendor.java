@@ -0,0 +1,24 @@
+package org.example.server.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+// The database behind the native upserts. The Hibernate dialect is Postgres everywhere (the tests
+// run on H2 with the same config), so the JDBC driver is asked which product it talks to. Postgres
+// is what runs in production; H2 is only there for the tests, which can't parse ON CONFLICT. Any
+// other database is refused rather than handed a statement written for one of these.
+enum DatabaseVendor {
+
+    POSTGRESQL,
+    H2;
+
+    static DatabaseVendor of(EntityManager entityManager) {
+        String product = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        return switch (product) {
+            case "PostgreSQL" -> POSTGRESQL;
+            case "H2" -> H2;
+            default -> throw new IllegalStateException("No native upsert for database " + product);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.server.repositories;
+
+import org.example.server.entities.DocumentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DocumentRepository extends JpaRepository<DocumentEntity, String>, DocumentRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.ref_count = d.ref_count - 1 WHERE d.s3_key = :key AND d.ref_count > 0")
+    int removeReference(@Param("key") String key);
+
+    @Query("SELECT COUNT(d) > 0 FROM DocumentEntity d WHERE d.s3_key = :key AND d.ref_count > 0")
+    boolean isReferenced(@Param("key") String key);
+}
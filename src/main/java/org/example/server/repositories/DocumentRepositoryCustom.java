@@ -0,0 +1,10 @@
+package org.example.server.repositories;
+
+import org.example.server.entities.DocumentEntity;
+
+public interface DocumentRepositoryCustom {
+
+    // Counts one more reference to the document in one statement, inserting its row (with the
+    // ref_count it carries) when it is the first. Concurrent first references cannot both insert.
+    void addReference(DocumentEntity document);
+}
@@ -0,0 +1,51 @@
+package org.example.server.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.server.entities.DocumentEntity;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+
+public class DocumentRepositoryImpl implements DocumentRepositoryCustom {
+
+    private static final String COLUMNS = "s3_key, sha256, content_type, size_bytes, ref_count, created_at";
+
+    private static final String VALUES = ":key, :sha256, :contentType, :size, :refCount, :createdAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile DatabaseVendor vendor;
+
+    @Override
+    public void addReference(DocumentEntity document) {
+        // ON CONFLICT turns a concurrent first insert of the same key into an increment, where an
+        // update-then-insert would fail on the primary key. H2 (tests) has no ON CONFLICT, MERGE there.
+        String sql = vendor() == DatabaseVendor.POSTGRESQL
+                ? "INSERT INTO document (" + COLUMNS + ") VALUES (" + VALUES + ") " +
+                  "ON CONFLICT (s3_key) DO UPDATE SET ref_count = document.ref_count + 1"
+                : "MERGE INTO document d USING (SELECT CAST(:key AS VARCHAR(255)) AS s3_key) n ON d.s3_key = n.s3_key " +
+                  "WHEN MATCHED THEN UPDATE SET ref_count = d.ref_count + 1 " +
+                  "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (" + VALUES + ")";
+
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only document is written: leave the cached applications & users alone
+                .addSynchronizedEntityClass(DocumentEntity.class)
+                .setParameter("key", document.getS3_key())
+                .setParameter("sha256", document.getSha256())
+                .setParameter("contentType", document.getContent_type())
+                .setParameter("size", document.getSize_bytes())
+                .setParameter("refCount", document.getRef_count())
+                .setParameter("createdAt", document.getCreated_at(), LocalDateTime.class)
+                .executeUpdate();
+    }
+
+    private DatabaseVendor vendor() {
+        if (vendor == null) {
+            vendor = DatabaseVendor.of(entityManager);
+        }
+        return vendor;
+    }
+}
@@ -1,10 +1,44 @@
 package org.example.server.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.example.server.entities.JobApplicationEntity;
+import org.example.server.repositories.projections.OwnedApplicationView;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface JobApplicationRepository extends JpaRepository<JobApplicationEntity, UUID> {
+public interface JobApplicationRepository extends JpaRepository<JobApplicationEntity, UUID>, JobApplicationRepositoryCustom {
 
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Just enough of an owned application to keep the summary & document references in step on delete.
+    @Query("SELECT j.status AS status, j.resume_url AS resume_url, j.cover_letter_url AS cover_letter_url " +
+            "FROM JobApplicationEntity j WHERE j.id = :id AND j.user.id = :userId")
+    Optional<OwnedApplicationView> findByIdAndOwner(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Ownership is part of the statement itself. Native with an empty query space, so Hibernate doesn't
+    // drop the whole jobApplications cache region as it does after a bulk JPQL delete; the caller evicts
+    // the one entry & the owner's collection instead.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(nativeQuery = true, value = "DELETE FROM job_application WHERE id = :id AND fk_id = :userId")
+    int deleteByIdAndOwner(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Streams every application of the user without materializing the result list.
+    // Must be consumed inside a transaction so the JDBC cursor stays open, and bypasses
+    // the second-level cache so a large export doesn't evict the hot entries.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT j FROM JobApplicationEntity j WHERE j.user.id = :userId ORDER BY j.updated_at DESC, j.id DESC")
+    Stream<JobApplicationEntity> streamAllByUserId(@Param("userId") UUID userId);
 }
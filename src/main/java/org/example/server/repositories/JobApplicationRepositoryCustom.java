@@ -0,0 +1,25 @@
+package org.example.server.repositories;
+
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.entities.JobApplicationEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface JobApplicationRepositoryCustom {
+
+    // Returns up to @limit applications of the user ordered by (updated_at, id) descending,
+    // starting strictly after the (afterUpdatedAt, afterId) cursor when one is given.
+    List<JobApplicationEntity> findPage(
+            UUID userId,
+            ApplicationFilterDto filter,
+            LocalDateTime afterUpdatedAt,
+            UUID afterId,
+            int limit
+    );
+
+    // Full-text & fuzzy company search over the user's applications, best match first.
+    // Relies on the Postgres search migration (tsvector column & pg_trgm).
+    List<JobApplicationEntity> search(UUID userId, String query, int offset, int limit);
+}
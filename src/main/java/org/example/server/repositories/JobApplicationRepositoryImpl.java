@@ -0,0 +1,94 @@
+package org.example.server.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.entities.JobApplicationEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class JobApplicationRepositoryImpl implements JobApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobApplicationEntity> findPage(
+            UUID userId,
+            ApplicationFilterDto filter,
+            LocalDateTime afterUpdatedAt,
+            UUID afterId,
+            int limit
+    ) {
+        // Only the filters that are actually set end up in the query, so Postgres never has to
+        // infer the type of a null parameter and the planner sees a plain range scan on fk_id.
+        StringBuilder jpql = new StringBuilder("SELECT j FROM JobApplicationEntity j WHERE j.user.id = :userId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                jpql.append(" AND j.status = :status");
+                params.put("status", filter.getStatus());
+            }
+            if (filter.getCompany_name() != null && !filter.getCompany_name().isBlank()) {
+                jpql.append(" AND LOWER(j.company_name) LIKE :company ESCAPE '\\'");
+                params.put("company", "%" + escapeLike(filter.getCompany_name().trim().toLowerCase()) + "%");
+            }
+            if (filter.getApplied_from() != null) {
+                jpql.append(" AND j.application_date >= :appliedFrom");
+                params.put("appliedFrom", filter.getApplied_from().atStartOfDay());
+            }
+            if (filter.getApplied_to() != null) {
+                jpql.append(" AND j.application_date < :appliedTo");
+                params.put("appliedTo", filter.getApplied_to().plusDays(1).atStartOfDay());
+            }
+        }
+
+        // Keyset condition: everything strictly "older" than the last row of the previous page.
+        if (afterUpdatedAt != null && afterId != null) {
+            jpql.append(" AND (j.updated_at < :afterUpdatedAt OR (j.updated_at = :afterUpdatedAt AND j.id < :afterId))");
+            params.put("afterUpdatedAt", afterUpdatedAt);
+            params.put("afterId", afterId);
+        }
+
+        jpql.append(" ORDER BY j.updated_at DESC, j.id DESC");
+
+        TypedQuery<JobApplicationEntity> query = entityManager.createQuery(jpql.toString(), JobApplicationEntity.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobApplicationEntity> search(UUID userId, String query, int offset, int limit) {
+        // A row matches on the text vector, or when the query is close to a word of the company
+        // name (<% is indexed by the trigram index). Both scores add up to the rank; ties go to
+        // the most recently touched application so pages stay stable.
+        String sql = """
+                SELECT j.* FROM job_application j
+                CROSS JOIN websearch_to_tsquery('english', :query) q
+                WHERE j.fk_id = :userId
+                  AND (j.search_vector @@ q OR lower(:query) <% lower(j.company_name))
+                ORDER BY ts_rank(j.search_vector, q) + word_similarity(lower(:query), lower(j.company_name)) DESC,
+                         j.updated_at DESC, j.id DESC
+                LIMIT :limit OFFSET :offset
+                """;
+
+        return entityManager.createNativeQuery(sql, JobApplicationEntity.class)
+                .setParameter("query", query)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.server.repositories;
+
+import org.example.server.entities.UserSummaryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserSummaryRepository extends JpaRepository<UserSummaryEntity, UUID>, UserSummaryRepositoryCustom {
+
+    // Applies the deltas in one atomic statement, so concurrent writers never lose an update.
+    // Also bumps the collection version, so list ETags change with any write.
+    // Returns 0 when the user has no summary row yet.
+    @Modifying
+    @Query("UPDATE UserSummaryEntity s SET " +
+            "s.saved_count = s.saved_count + :saved, " +
+            "s.applied_count = s.applied_count + :applied, " +
+            "s.interview_count = s.interview_count + :interview, " +
+            "s.offer_count = s.offer_count + :offer, " +
+            "s.rejected_count = s.rejected_count + :rejected, " +
+            "s.total_applications = s.total_applications + :saved + :applied + :interview + :offer + :rejected, " +
+            "s.collection_version = s.collection_version + 1, " +
+            "s.last_activity_at = :now " +
+            "WHERE s.user_id = :userId")
+    int applyDelta(
+            @Param("userId") UUID userId,
+            @Param("saved") long saved,
+            @Param("applied") long applied,
+            @Param("interview") long interview,
+            @Param("offer") long offer,
+            @Param("rejected") long rejected,
+            @Param("now") LocalDateTime now
+    );
+}
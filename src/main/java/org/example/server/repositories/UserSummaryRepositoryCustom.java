@@ -0,0 +1,10 @@
+package org.example.server.repositories;
+
+import org.example.server.entities.UserSummaryEntity;
+
+public interface UserSummaryRepositoryCustom {
+
+    // Inserts the summary row in one statement unless the user already has one.
+    // Returns 0 when a row was already there (a concurrent insert that got in first included).
+    int insertIfAbsent(UserSummaryEntity summary);
+}
@@ -0,0 +1,54 @@
+package org.example.server.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.server.entities.UserSummaryEntity;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+
+public class UserSummaryRepositoryImpl implements UserSummaryRepositoryCustom {
+
+    private static final String COLUMNS = "user_id, saved_count, applied_count, interview_count, offer_count, " +
+            "rejected_count, total_applications, collection_version, last_activity_at";
+
+    private static final String VALUES = ":userId, :saved, :applied, :interview, :offer, " +
+            ":rejected, :total, :collectionVersion, :lastActivityAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile DatabaseVendor vendor;
+
+    @Override
+    public int insertIfAbsent(UserSummaryEntity summary) {
+        // ON CONFLICT waits for a concurrent insert of the same user and then does nothing, where a
+        // plain insert would fail on the primary key. H2 (tests) has no ON CONFLICT, MERGE does the same there.
+        String sql = vendor() == DatabaseVendor.POSTGRESQL
+                ? "INSERT INTO user_summary (" + COLUMNS + ") VALUES (" + VALUES + ") ON CONFLICT (user_id) DO NOTHING"
+                : "MERGE INTO user_summary s USING (SELECT CAST(:userId AS UUID) AS user_id) n ON s.user_id = n.user_id " +
+                  "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (" + VALUES + ")";
+
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only user_summary is written: leave the cached applications & users alone
+                .addSynchronizedEntityClass(UserSummaryEntity.class)
+                .setParameter("userId", summary.getUser_id())
+                .setParameter("saved", summary.getSaved_count())
+                .setParameter("applied", summary.getApplied_count())
+                .setParameter("interview", summary.getInterview_count())
+                .setParameter("offer", summary.getOffer_count())
+                .setParameter("rejected", summary.getRejected_count())
+                .setParameter("total", summary.getTotal_applications())
+                .setParameter("collectionVersion", summary.getCollection_version())
+                .setParameter("lastActivityAt", summary.getLast_activity_at(), LocalDateTime.class)
+                .executeUpdate();
+    }
+
+    private DatabaseVendor vendor() {
+        if (vendor == null) {
+            vendor = DatabaseVendor.of(entityManager);
+        }
+        return vendor;
+    }
+}
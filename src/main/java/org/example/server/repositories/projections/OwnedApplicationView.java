@@ -0,0 +1,10 @@
+package org.example.server.repositories.projections;
+
+import org.example.server.entities.StatusEnum;
+
+// What a delete needs of an owned application: its status for the summary & its document keys.
+public interface OwnedApplicationView {
+    StatusEnum getStatus();
+    String getResume_url();
+    String getCover_letter_url();
+}
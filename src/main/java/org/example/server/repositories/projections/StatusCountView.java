@@ -0,0 +1,8 @@
+package org.example.server.repositories.projections;
+
+import org.example.server.entities.StatusEnum;
+
+public interface StatusCountView {
+    StatusEnum getStatus();
+    long getTotal();
+}
@@ -0,0 +1,9 @@
+package org.example.server.repositories.projections;
+
+import java.time.LocalDate;
+
+public interface WeeklyCountView {
+    LocalDate getWeekStart();
+    long getApplications();
+    long getCumulative();
+}
@@ -0,0 +1,7 @@
+package org.example.server.security;
+
+import java.util.UUID;
+
+// The caller, resolved from the JWT subject once per request.
+public record AuthenticatedUser(UUID id, String auth0Id, String email, String name) {
+}
@@ -0,0 +1,53 @@
+package org.example.server.security;
+
+import lombok.RequiredArgsConstructor;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.services.UserLookupService;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.security.Principal;
+
+// Lets controllers take an AuthenticatedUser parameter. The user is resolved at most
+// once per request and kept as a request attribute for anything else that needs it.
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private final UserLookupService userLookupService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(
+            MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        Object cached = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        Principal principal = webRequest.getUserPrincipal();
+        if (principal == null) {
+            throw new ApplicationException("Authentication required", HttpStatus.UNAUTHORIZED);
+        }
+
+        AuthenticatedUser user = userLookupService.resolve(principal.getName());
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
@@ -1,4 +1,74 @@
 package org.example.server.services;
 
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.DashboardDto;
+import org.example.server.dtos.WeeklyApplicationsDto;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserSummaryEntity;
+import org.example.server.repositories.AggregationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
 public class AggregationService {
+
+    private static final double SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final AggregationRepository aggregationRepository;
+
+    private final UserSummaryService userSummaryService;
+
+    // Not one read-only transaction: the summary may need its backfill written first (see
+    // UserSummaryService.getSummary), and each aggregate below is a single statement anyway.
+    public DashboardDto getDashboard(AuthenticatedUser user, int weeks) {
+
+        UUID userId = user.id();
+
+        // 1. Counts per status, read from the summary counters instead of counting rows
+
+        UserSummaryEntity summary = userSummaryService.getSummary(userId);
+        Map<StatusEnum, Long> statusCounts = new EnumMap<>(StatusEnum.class);
+        for (StatusEnum status : StatusEnum.values()) {
+            statusCounts.put(status, userSummaryService.countFor(summary, status));
+        }
+
+        // 2. Weekly volume for the requested window
+
+        LocalDateTime since = LocalDate.now().minusWeeks(weeks).atStartOfDay();
+        List<WeeklyApplicationsDto> perWeek = aggregationRepository.countPerWeek(userId, since).stream()
+                .map(row -> new WeeklyApplicationsDto(row.getWeekStart(), row.getApplications(), row.getCumulative()))
+                .toList();
+
+        // 3. Funnel. Only the current status is stored, so an application "reached" a stage
+        //    when it sits in that stage or a later one (a rejection can't be placed in the funnel).
+
+        long total = summary.getTotal_applications();
+        long applied = total - statusCounts.get(StatusEnum.SAVED);
+        long offered = statusCounts.get(StatusEnum.OFFER);
+        long interviewed = statusCounts.get(StatusEnum.INTERVIEW) + offered;
+
+        Double medianSeconds = aggregationRepository.medianSecondsToFirstResponse(userId);
+
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setStatus_counts(statusCounts);
+        dashboard.setTotal_applications(total);
+        dashboard.setApplications_per_week(perWeek);
+        dashboard.setApplied_to_interview_rate(rate(interviewed, applied));
+        dashboard.setInterview_to_offer_rate(rate(offered, interviewed));
+        dashboard.setApplied_to_offer_rate(rate(offered, applied));
+        dashboard.setMedian_days_to_first_response(medianSeconds == null ? null : medianSeconds / SECONDS_PER_DAY);
+        return dashboard;
+    }
+
+    private static Double rate(long numerator, long denominator) {
+        return denominator == 0 ? null : (double) numerator / denominator;
+    }
 }
@@ -0,0 +1,303 @@
+package org.example.server.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.example.server.documents.DocumentDownload;
+import org.example.server.documents.StoredDocument;
+import org.example.server.exceptions.file.RangeNotSatisfiable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Keeps recently downloaded documents on local disk, bounded by a byte budget. Hits are read from
+// the file and never touch S3, except for an If-None-Match revalidation of keys that can change.
+// The servlet stream is no socket channel, so transferTo into it is a buffered copy, not zero-copy.
+// Concurrent misses for one key share a single S3 fetch.
+@Service
+public class DocumentCacheService {
+
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final S3Service s3Service;
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private final Duration revalidateAfter;
+
+    private final AsyncCache<String, CachedDocument> documents;
+
+    public DocumentCacheService(
+            S3Service s3Service,
+            @Value("${documents.cache.enabled:true}") boolean enabled,
+            @Value("${documents.cache.directory:${java.io.tmpdir}/job-tracker-documents}") Path directory,
+            @Value("${documents.cache.max-size:512MB}") DataSize maxSize,
+            @Value("${documents.cache.revalidate-after:1m}") Duration revalidateAfter
+    ) {
+        this.s3Service = s3Service;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        this.revalidateAfter = revalidateAfter;
+        // Weighed by file size; whatever is evicted is deleted from disk right away. A reader that
+        // still has the file open keeps reading it, the space is freed when it closes.
+        this.documents = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedDocument document) -> (int) Math.min(document.size, Integer.MAX_VALUE))
+                .executor(Runnable::run)
+                .removalListener((String key, CachedDocument document, RemovalCause cause) -> {
+                    if (document != null) {
+                        deleteQuietly(document.file);
+                    }
+                })
+                .buildAsync();
+
+        if (enabled) {
+            clearDirectory();
+        }
+    }
+
+    public DocumentDownload openDownload(String key, String range, String ifNoneMatch, String ifRange) {
+        if (!enabled) {
+            return s3Service.openDownload(key, range, ifNoneMatch, ifRange);
+        }
+
+        // 1. Look the key up, fetching it once however many requests miss at the same time.
+        //    A copy that was already cached is checked against S3 when its key can change.
+
+        CachedDocument document = getOrFetch(key);
+
+        // 2. Answer the conditional / range request from the local file
+
+        return serve(key, document, range, ifNoneMatch, ifRange);
+    }
+
+    public void evict(String key) {
+        documents.synchronous().invalidate(key);
+    }
+
+    // Whoever puts the future in the cache first fetches on its own thread; everyone else waits on it.
+    private CachedDocument getOrFetch(String key) {
+        CompletableFuture<CachedDocument> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedDocument> existing = documents.asMap().putIfAbsent(key, fetch);
+        if (existing == null) {
+            try {
+                fetch.complete(fetch(key));
+            } catch (RuntimeException e) {
+                fetch.completeExceptionally(e);
+            }
+            return join(fetch);
+        }
+
+        // Waiting on a fetch in flight gives a fresh copy, only one that was already there is revalidated.
+        boolean cached = existing.isDone();
+        CachedDocument document = join(existing);
+        return cached ? revalidate(key, document) : document;
+    }
+
+    private CachedDocument join(CompletableFuture<CachedDocument> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CachedDocument fetch(String key) {
+        return store(s3Service.openDownload(key, null, null, null));
+    }
+
+    private CachedDocument store(DocumentDownload download) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, "document-", ".bin");
+            try (var out = Files.newOutputStream(file)) {
+                download.body().writeTo(out);
+            }
+            return new CachedDocument(file, download.eTag(), Files.size(file), download.contentType(), download.lastModified());
+        } catch (IOException e) {
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            throw new UncheckedIOException("Failed to cache document", e);
+        }
+    }
+
+    // Content addressed keys never change, so only the others are checked & only once in a while.
+    private CachedDocument revalidate(String key, CachedDocument document) {
+        if (key.startsWith(StoredDocument.KEY_PREFIX)
+                || document.validatedAt.plus(revalidateAfter).isAfter(Instant.now())) {
+            return document;
+        }
+
+        DocumentDownload download = s3Service.openDownload(key, null, document.eTag, null);
+        if (download.notModified()) {
+            document.validatedAt = Instant.now();
+            return document;
+        }
+
+        // It changed: replace the copy with what S3 just sent (the old file is deleted on replace).
+        CachedDocument refreshed = store(download);
+        documents.put(key, CompletableFuture.completedFuture(refreshed));
+        return refreshed;
+    }
+
+    private DocumentDownload serve(String key, CachedDocument document, String range, String ifNoneMatch, String ifRange) {
+        if (ifNoneMatch != null && matchesETag(ifNoneMatch, document.eTag)) {
+            return DocumentDownload.notModified(document.eTag);
+        }
+
+        // If-Range: only honour the range while the client's copy is still current.
+        long[] bounds = ifRange == null || ifRange.equals(document.eTag) ? parseRange(range, document.size) : null;
+        long start = bounds == null ? 0 : bounds[0];
+        long length = bounds == null ? document.size : bounds[1] - bounds[0] + 1;
+        String contentRange = bounds == null ? null : "bytes " + bounds[0] + "-" + bounds[1] + "/" + document.size;
+
+        return new DocumentDownload(
+                false,
+                document.eTag,
+                length,
+                contentRange,
+                document.contentType,
+                document.lastModified,
+                out -> {
+                    try (FileChannel channel = openCopy(key, document)) {
+                        WritableByteChannel target = Channels.newChannel(out);
+                        long position = start;
+                        long remaining = length;
+                        while (remaining > 0) {
+                            long sent = channel.transferTo(position, remaining, target);
+                            if (sent <= 0) {
+                                break;
+                            }
+                            position += sent;
+                            remaining -= sent;
+                        }
+                    }
+                }
+        );
+    }
+
+    // Opened only once the body is written, so a download that is never sent holds no file open.
+    // A copy evicted in the meantime is fetched again, as long as S3 still has the same version:
+    // the headers with its length & ETag have already gone out.
+    private FileChannel openCopy(String key, CachedDocument document) throws IOException {
+        try {
+            return FileChannel.open(document.file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            documents.asMap().remove(key);
+            CachedDocument refetched = getOrFetch(key);
+            if (!refetched.eTag.equals(document.eTag)) {
+                throw new IOException("Document " + key + " changed while it was being sent");
+            }
+            return FileChannel.open(refetched.file, StandardOpenOption.READ);
+        }
+    }
+
+    // Returns {first, last} for a single satisfiable byte range, or null to send the whole document.
+    private long[] parseRange(String range, long size) {
+        if (range == null) {
+            return null;
+        }
+        Matcher matcher = BYTE_RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+
+        long first;
+        long last;
+        if (matcher.group(1).isEmpty()) {
+            long suffix = Long.parseLong(matcher.group(2));
+            if (suffix == 0) {
+                throw new RangeNotSatisfiable("Requested range not satisfiable: " + range);
+            }
+            first = Math.max(0, size - suffix);
+            last = size - 1;
+        } else {
+            first = Long.parseLong(matcher.group(1));
+            last = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+            if (!matcher.group(2).isEmpty() && Long.parseLong(matcher.group(2)) < first) {
+                return null;
+            }
+        }
+        if (first >= size) {
+            throw new RangeNotSatisfiable("Requested range not satisfiable: " + range);
+        }
+        return new long[]{first, last};
+    }
+
+    private boolean matchesETag(String header, String eTag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> leftovers = Files.list(directory)) {
+                leftovers.forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot use document cache directory " + directory, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Left behind files are cleared on the next start.
+        }
+    }
+
+    // One cached object. validatedAt is the last time S3 confirmed the ETag.
+    private static final class CachedDocument {
+
+        private final Path file;
+        private final String eTag;
+        private final long size;
+        private final String contentType;
+        private final Instant lastModified;
+        private volatile Instant validatedAt = Instant.now();
+
+        private CachedDocument(Path file, String eTag, long size, String contentType, Instant lastModified) {
+            this.file = file;
+            this.eTag = eTag;
+            this.size = size;
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+        }
+    }
+}
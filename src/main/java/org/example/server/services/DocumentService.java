@@ -0,0 +1,253 @@
+package org.example.server.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.server.documents.DocumentRejectedException;
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.DocumentUpload;
+import org.example.server.documents.StoredDocument;
+import org.example.server.documents.ValidatedDocumentStream;
+import org.example.server.dtos.PresignedUrlDto;
+import org.example.server.entities.DocumentEntity;
+import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.repositories.DocumentRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Documents are stored once per user and distinct content, under documents/<user id>/<sha256>.<ext>.
+// Attaching a file that is already in S3 costs a HEAD instead of a PUT, and document.ref_count
+// tracks how many application fields point at each object.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentService {
+
+    private static final Pattern DOCUMENT_KEY = Pattern.compile("documents/([0-9a-f-]{36})/([0-9a-f]{64})\\.([a-z]+)");
+
+    private final S3Service s3Service;
+
+    private final DocumentRepository documentRepository;
+
+    @Value("${aws.presign.upload-ttl:10m}")
+    private Duration uploadTtl;
+
+    @Value("${aws.presign.download-ttl:5m}")
+    private Duration downloadTtl;
+
+    @Value("${aws.upload.orphan-grace:2m}")
+    private Duration orphanGrace;
+
+    // Storing below:
+
+    // Hashes every file (validating it on the same pass), then uploads only the content S3 does
+    // not have yet, all at the same time. Returns the stored documents under the same keys.
+    public <K> Map<K, StoredDocument> storeAll(AuthenticatedUser user, Map<K, MultipartFile> files) {
+        return storeAll(user, files, Map.of());
+    }
+
+    // Same, for files replacing the documents in @attached (by the same keys). A file whose content
+    // is already the attached document is known to be in S3, so it costs neither a HEAD nor a PUT.
+    public <K> Map<K, StoredDocument> storeAll(AuthenticatedUser user, Map<K, MultipartFile> files, Map<K, String> attached) {
+        Map<K, StoredDocument> stored = new LinkedHashMap<>();
+        Map<String, DocumentUpload> uploads = new LinkedHashMap<>();
+
+        for (Map.Entry<K, MultipartFile> entry : files.entrySet()) {
+            MultipartFile file = entry.getValue();
+
+            // 1. Hash & validate straight from the spooled part
+            byte[] digest = digest(file);
+            DocumentType type = DocumentType.fromFilename(file.getOriginalFilename()).orElseThrow();
+            String sha256 = HexFormat.of().formatHex(digest);
+            String key = StoredDocument.keyFor(user.id(), sha256, type);
+
+            // 2. Skip the PUT when the same content is already stored
+            boolean upload = !key.equals(attached.get(entry.getKey()))
+                    && !uploads.containsKey(key)
+                    && !s3Service.exists(key);
+            if (upload) {
+                uploads.put(key, new DocumentUpload(key, file, Base64.getEncoder().encodeToString(digest)));
+            }
+            stored.put(entry.getKey(), new StoredDocument(key, sha256, type, file.getSize(), upload));
+        }
+
+        // 3. Upload the new content in parallel
+        s3Service.uploadFiles(new ArrayList<>(uploads.values()));
+        return stored;
+    }
+
+    private byte[] digest(MultipartFile file) {
+        MessageDigest sha256 = newDigest();
+        try (InputStream in = new DigestInputStream(
+                ValidatedDocumentStream.open(file.getInputStream(), file.getOriginalFilename(), DocumentType.MAX_SIZE_BYTES), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (DocumentRejectedException e) {
+            throw new FileNotValid(e.getMessage());
+        } catch (IOException e) {
+            throw new FileNotValid("Failed to read file: " + e.getMessage());
+        }
+        return sha256.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Reference counting below, it must join the transaction that changes job_application:
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addReference(StoredDocument document) {
+        documentRepository.addReference(new DocumentEntity(
+                document.key(), document.sha256(), document.type().getContentType(), document.size(), 1, LocalDateTime.now()));
+    }
+
+    // Keys from before content addressing have no row, so this is a no-op for them.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeReference(String key) {
+        if (key != null) {
+            documentRepository.removeReference(key);
+        }
+    }
+
+    // Called when the write that should have referenced fresh uploads failed. Another request may
+    // have found the same content with its HEAD meanwhile and skipped the PUT, and its reference
+    // only shows once its write commits. So the objects are checked & deleted after @orphanGrace,
+    // longer than a request takes from HEAD to commit (its uploads are bounded by
+    // aws.upload.timeout). Whatever is referenced by then stays, as does content shared from before.
+    public void discardUnreferenced(Iterable<StoredDocument> documents) {
+        List<String> fresh = new ArrayList<>();
+        for (StoredDocument document : documents) {
+            if (document.uploaded()) {
+                fresh.add(document.key());
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> deleteUnreferenced(fresh),
+                        CompletableFuture.delayedExecutor(orphanGrace.toMillis(), TimeUnit.MILLISECONDS, Thread::startVirtualThread))
+                .exceptionally(failure -> {
+                    log.warn("Could not discard unreferenced uploads {}", fresh, failure);
+                    return null;
+                });
+    }
+
+    private void deleteUnreferenced(List<String> keys) {
+        s3Service.deleteFiles(keys.stream().filter(key -> !documentRepository.isReferenced(key)).toList());
+    }
+
+    // Presigned transfers below:
+
+    // The browser sends the SHA-256 it computed. If that content is already stored no URL is
+    // needed; otherwise the PUT is signed with the checksum, so S3 only accepts exactly that content.
+    public PresignedUrlDto createUploadUrl(AuthenticatedUser user, String fileName, long size, String sha256) {
+
+        // 1. Check what the client says it is going to upload
+
+        DocumentType type = DocumentType.fromFilename(fileName)
+                .orElseThrow(() -> new FileNotValid("Unsupported file type: " + fileName));
+        if (size <= 0 || size > DocumentType.MAX_SIZE_BYTES) {
+            throw new FileNotValid("File must be between 1 and " + DocumentType.MAX_SIZE_BYTES + " bytes");
+        }
+        String hash = sha256 == null ? "" : sha256.toLowerCase();
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new FileNotValid("sha256 must be the hex encoded SHA-256 of the file");
+        }
+
+        // 2. Content the user already stored does not need to be uploaded again
+
+        String key = StoredDocument.keyFor(user.id(), hash, type);
+        if (s3Service.exists(key)) {
+            return new PresignedUrlDto(null, null, key, Map.of(), null, false);
+        }
+
+        // 3. Sign the PUT with the declared type, length & checksum
+
+        String checksum = Base64.getEncoder().encodeToString(HexFormat.of().parseHex(hash));
+        PresignedPutObjectRequest presigned = s3Service.presignUpload(key, type.getContentType(), size, checksum, uploadTtl);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUrlDto(presigned.url().toString(), "PUT", key, headers, presigned.expiration(), true);
+    }
+
+    public PresignedUrlDto createDownloadUrl(String key) {
+        PresignedGetObjectRequest presigned = s3Service.presignDownload(key, fileNameOf(key), downloadTtl);
+        return new PresignedUrlDto(presigned.url().toString(), "GET", key, Map.of(), presigned.expiration(), false);
+    }
+
+    // Called before a key from a presigned upload is attached to an application. The signature
+    // already pins type, length & checksum, but the object is re-checked since the client controls it.
+    public StoredDocument finalizeUpload(AuthenticatedUser user, String key) {
+
+        // 1. The key must be a content address under the user's own prefix
+
+        Matcher matcher = key == null ? null : DOCUMENT_KEY.matcher(key);
+        if (matcher == null || !matcher.matches() || !matcher.group(1).equals(user.id().toString())) {
+            throw new FileNotValid("Unknown upload: " + key);
+        }
+        String sha256 = matcher.group(2);
+        DocumentType type = DocumentType.fromFilename(key)
+                .orElseThrow(() -> new FileNotValid("Unsupported file type: " + key));
+
+        // 2. Check size, type & checksum from the object metadata
+
+        HeadObjectResponse head = s3Service.headObject(key);
+        if (head.contentLength() == null || head.contentLength() <= 0 || head.contentLength() > DocumentType.MAX_SIZE_BYTES) {
+            throw new FileNotValid("Uploaded file must be between 1 and " + DocumentType.MAX_SIZE_BYTES + " bytes");
+        }
+        if (!type.getContentType().equals(head.contentType())) {
+            throw new FileNotValid("Uploaded file has content type " + head.contentType() + ", expected " + type.getContentType());
+        }
+        String expectedChecksum = Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256));
+        if (!expectedChecksum.equals(head.checksumSHA256())) {
+            throw new FileNotValid("Uploaded file does not match its content hash");
+        }
+
+        // 3. Sniff the leading bytes, same as a proxied upload
+
+        byte[] leading = s3Service.readHead(key, DocumentType.SNIFF_LENGTH);
+        if (!type.matches(leading, leading.length)) {
+            throw new FileNotValid("File content does not match its ." + type.getExtension() + " extension");
+        }
+
+        return new StoredDocument(key, sha256, type, head.contentLength(), false);
+    }
+
+    private String fileNameOf(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.server.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.timing.RequestTimings;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final String[] CSV_COLUMNS = {
+            "id", "job_title", "company_name", "location", "status", "job_post_url",
+            "resume_url", "cover_letter_url", "application_date", "updated_at"
+    };
+
+    private final JobApplicationRepository jobApplicationRepository;
+
+    private final JobApplicationMapper jobApplicationMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFilename() {
+            return "applications." + extension;
+        }
+
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ApplicationException("Unsupported export format: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // The user is resolved before the handler runs, so a missing user is still a proper 404
+    // and not a half-written response. The rows themselves are only read once the body is written.
+    public StreamingResponseBody exportApplications(AuthenticatedUser user, Format format) {
+
+        UUID userId = user.id();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return out -> readOnly.executeWithoutResult(status -> {
+            try (Stream<JobApplicationEntity> applications = jobApplicationRepository.streamAllByUserId(userId)) {
+                if (format == Format.CSV) {
+                    writeCsv(applications, out);
+                } else {
+                    writeNdjson(applications, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Every document is followed by its newline, so an empty export is an empty body and a cut
+    // off one is told apart by its missing terminator.
+    private void writeNdjson(Stream<JobApplicationEntity> applications, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            // Serialized straight into the response, not through the timed converter, so timed here
+            RequestTimings timings = RequestTimings.current();
+            Iterator<JobApplicationEntity> iterator = applications.iterator();
+            while (iterator.hasNext()) {
+                JobApplicationDto dto = toDto(iterator.next());
+                long start = timings != null ? timings.enter(RequestTimings.Category.JSON) : 0;
+                try {
+                    generator.writeObject(dto);
+                    generator.writeRaw('\n');
+                } finally {
+                    if (timings != null) {
+                        timings.exit(RequestTimings.Category.JSON, start);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Stream<JobApplicationEntity> applications, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+
+        Iterator<JobApplicationEntity> iterator = applications.iterator();
+        while (iterator.hasNext()) {
+            JobApplicationDto dto = toDto(iterator.next());
+            writeCsvRow(writer,
+                    dto.getId(), dto.getJob_title(), dto.getCompany_name(), dto.getLocation(), dto.getStatus(),
+                    dto.getJob_post_url(), dto.getResume_url(), dto.getCover_letter_url(),
+                    dto.getApplication_date(), dto.getUpdated_at());
+        }
+        writer.flush();
+    }
+
+    // Maps the entity and drops it from the persistence context right away,
+    // so memory stays flat no matter how many rows the user has.
+    private JobApplicationDto toDto(JobApplicationEntity entity) {
+        JobApplicationDto dto = jobApplicationMapper.jobEntityToJobDto(entity);
+        entityManager.detach(entity);
+        return dto;
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.server.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.server.dtos.ImportEventDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.imports.CsvReader;
+import org.example.server.imports.ImportRow;
+import org.example.server.imports.MalformedCsvException;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+// Imports a CSV of past applications as a stream. A parser thread reads & validates one line at
+// a time into a bounded queue; the request thread takes rows off it and writes them in fixed-size
+// transactions. Neither side ever holds more than the queue plus one batch, and progress &
+// per-line errors are streamed back as NDJSON while the import runs.
+@Slf4j
+@Service
+public class ImportService {
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("job_title", "company_name", "status", "job_post_url");
+
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private final JobApplicationRepository jobApplicationRepository;
+
+    private final UserRepository userRepository;
+
+    private final UserSummaryService userSummaryService;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService importExecutor;
+
+    private final int batchSize;
+
+    private final int queueCapacity;
+
+    private final int maxRowLength;
+
+    public ImportService(
+            JobApplicationRepository jobApplicationRepository,
+            UserRepository userRepository,
+            UserSummaryService userSummaryService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("importExecutor") ExecutorService importExecutor,
+            @Value("${import.batch-size:200}") int batchSize,
+            @Value("${import.queue-capacity:1000}") int queueCapacity,
+            @Value("${import.max-row-length:8192}") int maxRowLength
+    ) {
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.userRepository = userRepository;
+        this.userSummaryService = userSummaryService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.importExecutor = importExecutor;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxRowLength = maxRowLength;
+    }
+
+    // The upload is opened before the handler returns; the rows are only read once the body is written.
+    public StreamingResponseBody importApplications(AuthenticatedUser user, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new FileNotValid("A CSV file is required");
+        }
+
+        InputStream in;
+        try {
+            in = file.getInputStream();
+        } catch (IOException e) {
+            throw new FileNotValid("Failed to read file: " + e.getMessage());
+        }
+
+        UUID userId = user.id();
+        return out -> run(userId, in, out);
+    }
+
+    // Runs on the thread writing the response.
+    private void run(UUID userId, InputStream in, OutputStream out) throws IOException {
+        BlockingQueue<ImportRow> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> parser = importExecutor.submit(() -> parse(in, queue));
+
+        try (SequenceWriter events = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            ImportEventDto progress = new ImportEventDto("progress", null, null, 0, 0, 0);
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+
+            // 1. Take rows until the parser is done, writing a batch every time one fills up
+
+            while (true) {
+                ImportRow row = queue.take();
+                if (row == ImportRow.END) {
+                    break;
+                }
+                if (row.error() != null) {
+                    progress.setProcessed(progress.getProcessed() + 1);
+                    progress.setFailed(progress.getFailed() + 1);
+                    writeEvent(events, out, new ImportEventDto("error", row.line(), row.error(), 0, 0, 0));
+                    continue;
+                }
+
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    writeBatch(userId, batch, progress, events, out);
+                }
+            }
+
+            // 2. Write what is left & close with the totals
+
+            if (!batch.isEmpty()) {
+                writeBatch(userId, batch, progress, events, out);
+            }
+            progress.setType("done");
+            writeEvent(events, out, progress);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Stops the parser if we gave up early, e.g. because the client went away.
+            parser.cancel(true);
+        }
+    }
+
+    private void writeBatch(UUID userId, List<ImportRow> batch, ImportEventDto progress, SequenceWriter events, OutputStream out) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(userId, batch));
+            progress.setImported(progress.getImported() + batch.size());
+        } catch (RuntimeException e) {
+            // The whole batch rolled back, so every row in it is reported. The cause stays in our log:
+            // driver messages carry SQL, table & constraint names the client has no use for.
+            log.warn("Import batch of {} rows failed for user {}", batch.size(), userId, e);
+            String error = e instanceof DataIntegrityViolationException
+                    ? "Could not be saved: a value is too long or not allowed"
+                    : "Could not be saved";
+            progress.setFailed(progress.getFailed() + batch.size());
+            for (ImportRow row : batch) {
+                writeEvent(events, out, new ImportEventDto("error", row.line(), error, 0, 0, 0));
+            }
+        }
+        progress.setProcessed(progress.getProcessed() + batch.size());
+        batch.clear();
+        writeEvent(events, out, progress);
+    }
+
+    private void persist(UUID userId, List<ImportRow> batch) {
+        UserEntity owner = userRepository.getReferenceById(userId);
+        Map<StatusEnum, Long> deltas = new EnumMap<>(StatusEnum.class);
+        List<JobApplicationEntity> applications = new ArrayList<>(batch.size());
+
+        for (ImportRow row : batch) {
+            JobApplicationDto dto = row.application();
+            applications.add(JobApplicationService.newApplication(
+                    owner,
+                    dto.getJob_title(),
+                    dto.getCompany_name(),
+                    dto.getLocation(),
+                    dto.getStatus(),
+                    dto.getJob_post_url(),
+                    dto.getApplication_date() == null ? null : dto.getApplication_date().atStartOfDay()
+            ));
+            deltas.merge(dto.getStatus(), 1L, Long::sum);
+        }
+
+        jobApplicationRepository.saveAll(applications);
+        userSummaryService.recordChanges(userId, deltas);
+    }
+
+    private void writeEvent(SequenceWriter events, OutputStream out, ImportEventDto event) throws IOException {
+        events.write(event);
+        events.flush();
+        out.flush();
+    }
+
+    // Parser side below, runs on the import executor:
+
+    private void parse(InputStream in, BlockingQueue<ImportRow> queue) {
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), maxRowLength)) {
+
+            // 1. Map the header so columns can come in any order
+
+            Map<String, Integer> columns = readHeader(reader);
+            Set<String> missing = REQUIRED_COLUMNS.stream()
+                    .filter(column -> !columns.containsKey(column))
+                    .collect(Collectors.toSet());
+            if (!missing.isEmpty()) {
+                queue.put(ImportRow.rejected(1, "Missing columns: " + String.join(", ", missing.stream().sorted().toList())));
+                return;
+            }
+
+            // 2. Validate each line & hand it over, waiting whenever the writer is behind
+
+            while (true) {
+                ImportRow row;
+                try {
+                    List<String> record = reader.readRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    row = toRow(reader.getRecordLine(), record, columns);
+                } catch (MalformedCsvException e) {
+                    row = ImportRow.rejected(e.getLine(), e.getMessage());
+                }
+                queue.put(row);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException e) {
+            putQuietly(queue, ImportRow.rejected(0, "Failed to read file: " + e.getMessage()));
+        } finally {
+            if (!Thread.currentThread().isInterrupted()) {
+                putQuietly(queue, ImportRow.END);
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = reader.readRecord();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow toRow(long line, List<String> record, Map<String, Integer> columns) {
+        JobApplicationDto dto = new JobApplicationDto();
+        dto.setJob_title(value(record, columns, "job_title"));
+        dto.setCompany_name(value(record, columns, "company_name"));
+        dto.setLocation(value(record, columns, "location"));
+        dto.setJob_post_url(value(record, columns, "job_post_url"));
+
+        String status = value(record, columns, "status");
+        if (status != null) {
+            try {
+                dto.setStatus(StatusEnum.valueOf(status.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return ImportRow.rejected(line, "Invalid status: " + status);
+            }
+        }
+
+        String applicationDate = value(record, columns, "application_date");
+        if (applicationDate != null) {
+            try {
+                dto.setApplication_date(parseDate(applicationDate));
+            } catch (DateTimeParseException e) {
+                return ImportRow.rejected(line, "Invalid application_date: " + applicationDate);
+            }
+        }
+
+        Set<ConstraintViolation<JobApplicationDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return ImportRow.rejected(line, message);
+        }
+        return ImportRow.valid(line, dto);
+    }
+
+    // Blank cells count as missing.
+    private String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Accepts ISO dates & the MM/dd/yyyy format our own DTOs use.
+    private LocalDate parseDate(String value) {
+        return value.contains("/") ? LocalDate.parse(value, US_DATE) : LocalDate.parse(value);
+    }
+
+    private void putQuietly(BlockingQueue<ImportRow> queue, ImportRow row) {
+        try {
+            queue.put(row);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.example.server.services;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.BatchOperationDto;
+import org.example.server.dtos.BatchResponseDto;
+import org.example.server.dtos.BatchResultDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.exceptions.job_application.ApplicationNotFound;
+import org.example.server.exceptions.job_application.ForbiddenApplicationAccess;
+import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Applies a list of creates, updates & deletes in one transaction. Each entry is checked on its
+// own and a bad entry only fails itself. The good ones are applied in memory and flushed together,
+// so with hibernate.jdbc.batch_size the rows go out as a few batched statements.
+@Service
+@RequiredArgsConstructor
+public class JobApplicationBatchService {
+
+    private final JobApplicationRepository jobApplicationRepository;
+
+    private final UserRepository userRepository;
+
+    private final JobApplicationMapper jobApplicationMapper;
+
+    private final UserSummaryService userSummaryService;
+
+    private final DocumentService documentService;
+
+    private final Validator validator;
+
+    @Value("${applications.batch.max-size:100}")
+    private int maxBatchSize;
+
+    @Transactional
+    public BatchResponseDto applyBatch(AuthenticatedUser user, List<BatchOperationDto> operations) {
+
+        // 1. Refuse batches over the limit outright
+
+        if (operations.size() > maxBatchSize) {
+            throw new ApplicationException("A batch can hold at most " + maxBatchSize + " operations", HttpStatus.BAD_REQUEST);
+        }
+
+        // 2. Load every application the batch updates or deletes in one query
+
+        Set<UUID> ids = operations.stream()
+                .map(BatchOperationDto::getId)
+                .map(this::parseIdOrNull)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, JobApplicationEntity> applications = new HashMap<>();
+        jobApplicationRepository.findAllById(ids).forEach(application -> applications.put(application.getId(), application));
+
+        // 3. Apply each operation in memory; failures are recorded and skipped
+
+        UserEntity owner = userRepository.getReferenceById(user.id());
+        Map<StatusEnum, Long> deltas = new EnumMap<>(StatusEnum.class);
+        List<String> releasedDocuments = new ArrayList<>();
+        Set<UUID> touched = new HashSet<>();
+
+        List<BatchResultDto> results = new ArrayList<>();
+        List<JobApplicationEntity> written = new ArrayList<>();
+        boolean modified = false;
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationDto operation = operations.get(index);
+            JobApplicationEntity application = null;
+            BatchResultDto result;
+            try {
+                validate(operation);
+                switch (operation.getOp()) {
+                    case CREATE -> {
+                        application = create(owner, operation);
+                        deltas.merge(application.getStatus(), 1L, Long::sum);
+                        modified = true;
+                        result = new BatchResultDto(index, operation.getOp(), null, 201, null, null);
+                    }
+                    case UPDATE -> {
+                        application = owned(applications, touched, operation.getId(), user);
+                        StatusEnum status = parseStatus(operation.getStatus());
+                        StatusEnum previousStatus = application.getStatus();
+                        boolean changed = JobApplicationService.applyFieldChanges(
+                                application,
+                                operation.getJob_title(),
+                                operation.getCompany_name(),
+                                operation.getLocation(),
+                                status == null ? null : status.name(),
+                                operation.getJob_post_url()
+                        );
+                        // An unchanged entity stays clean, so no UPDATE is sent for it
+                        if (changed) {
+                            application.setUpdated_at(LocalDateTime.now());
+                            modified = true;
+                        }
+                        if (previousStatus != application.getStatus()) {
+                            deltas.merge(previousStatus, -1L, Long::sum);
+                            deltas.merge(application.getStatus(), 1L, Long::sum);
+                        }
+                        result = new BatchResultDto(index, operation.getOp(), operation.getId(), 200, null, null);
+                    }
+                    case DELETE -> {
+                        JobApplicationEntity deleted = owned(applications, touched, operation.getId(), user);
+                        jobApplicationRepository.delete(deleted);
+                        deltas.merge(deleted.getStatus(), -1L, Long::sum);
+                        modified = true;
+                        releasedDocuments.add(deleted.getResume_url());
+                        releasedDocuments.add(deleted.getCover_letter_url());
+                        result = new BatchResultDto(index, operation.getOp(), operation.getId(), 204, null, null);
+                    }
+                    default -> throw new IllegalStateException("Unexpected operation: " + operation.getOp());
+                }
+            } catch (ApplicationException e) {
+                result = new BatchResultDto(index, operation.getOp(), operation.getId(), e.getHttpStatus().value(), e.getMessage(), null);
+            }
+            results.add(result);
+            written.add(application);
+        }
+
+        // 4. Counters & document references once for the whole batch. The first of these statements
+        //    flushes the rows above, grouped into JDBC batches by Hibernate. A batch that wrote
+        //    nothing (only failures & no-op updates) leaves the collection version alone.
+
+        if (modified) {
+            userSummaryService.recordChanges(user.id(), deltas);
+        }
+        releasedDocuments.forEach(documentService::removeReference);
+        jobApplicationRepository.flush();
+
+        // 5. Map the written rows now that ids & timestamps are set
+
+        int failed = 0;
+        for (int index = 0; index < results.size(); index++) {
+            BatchResultDto result = results.get(index);
+            JobApplicationEntity application = written.get(index);
+            if (result.getError() != null) {
+                failed++;
+            } else if (application != null) {
+                result.setId(application.getId().toString());
+                result.setApplication(jobApplicationMapper.jobEntityToJobDto(application));
+            }
+        }
+        return new BatchResponseDto(results.size() - failed, failed, results);
+    }
+
+    private JobApplicationEntity create(UserEntity owner, BatchOperationDto operation) {
+        if (isBlank(operation.getJob_title()) || isBlank(operation.getCompany_name())
+                || isBlank(operation.getStatus()) || isBlank(operation.getJob_post_url())) {
+            throw new ApplicationException("job_title, company_name, status and job_post_url are required", HttpStatus.BAD_REQUEST);
+        }
+        JobApplicationEntity application = JobApplicationService.newApplication(
+                owner,
+                operation.getJob_title(),
+                operation.getCompany_name(),
+                operation.getLocation(),
+                parseStatus(operation.getStatus()),
+                operation.getJob_post_url(),
+                null
+        );
+
+        // persist() only assigns the id here, the INSERT waits for the flush
+        return jobApplicationRepository.save(application);
+    }
+
+    // Each application may appear once per batch, so every result describes a single change.
+    private JobApplicationEntity owned(Map<UUID, JobApplicationEntity> applications, Set<UUID> touched, String id, AuthenticatedUser user) {
+        UUID applicationId = parseIdOrNull(id);
+        JobApplicationEntity application = applicationId == null ? null : applications.get(applicationId);
+        if (application == null) {
+            throw new ApplicationNotFound("Application not found.");
+        }
+        if (!application.getUser().getId().equals(user.id())) {
+            throw new ForbiddenApplicationAccess("Application access has been denied");
+        }
+        if (!touched.add(applicationId)) {
+            throw new ApplicationException("Application appears more than once in the batch", HttpStatus.CONFLICT);
+        }
+        return application;
+    }
+
+    private void validate(BatchOperationDto operation) {
+        Set<ConstraintViolation<BatchOperationDto>> violations = validator.validate(operation);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new ApplicationException(message, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private StatusEnum parseStatus(String status) {
+        if (isBlank(status)) {
+            return null;
+        }
+        try {
+            return StatusEnum.valueOf(status.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException("Invalid status: " + status, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private UUID parseIdOrNull(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,28 +1,53 @@
 package org.example.server.services;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.dtos.ApplicationPageDto;
 import org.example.server.dtos.JobApplicationDto;
+import org.example.server.dtos.PresignedUrlDto;
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.StoredDocument;
 import org.example.server.dtos.UpdateJobApplicationDto;
 import org.example.server.entities.JobApplicationEntity;
 import org.example.server.entities.StatusEnum;
 import org.example.server.entities.UserEntity;
+import org.example.server.entities.UserSummaryEntity;
+import org.example.server.etags.ETags;
+import org.example.server.etags.Versioned;
 import org.example.server.exceptions.ApplicationException;
+import org.example.server.exceptions.file.FileNotFound;
 import org.example.server.exceptions.file.FileNotValid;
 import org.example.server.exceptions.job_application.ApplicationNotFound;
+import org.example.server.exceptions.job_application.ApplicationVersionMismatch;
 import org.example.server.exceptions.job_application.ForbiddenApplicationAccess;
 import org.example.server.exceptions.job_application.NoApplicationsFound;
-import org.example.server.exceptions.user.UserNotFoundException;
 import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.metrics.ServiceMetrics;
 import org.example.server.repositories.JobApplicationRepository;
 import org.example.server.repositories.UserRepository;
+import org.example.server.repositories.projections.OwnedApplicationView;
+import org.example.server.security.AuthenticatedUser;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -30,275 +55,532 @@ public class JobApplicationService {
 
     private final UserRepository userRepository;
 
-    private final S3Service s3Service;
+    private final DocumentService documentService;
 
     private final JobApplicationRepository jobApplicationRepository;
 
     private final JobApplicationMapper jobApplicationMapper;
 
+    private final UserSummaryService userSummaryService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ServiceMetrics serviceMetrics;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String RESUME = "resume";
+
+    private static final String COVER_LETTER = "cover_letter";
+
+    private static final String USER_APPLICATIONS_ROLE = UserEntity.class.getName() + ".jobApplications";
+
     // Helper Methods below:
 
-    // This method will either throw an exception or return the user if found based on Auth token.
-    public UserEntity getUserBasedOnAuth(String authToken) {
-        return userRepository.findByAuth0_id(authToken)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    // Loads the application by primary key, so hot applications come straight from the
+    // second-level cache, then checks ownership on the user's id, which never initializes the proxy.
+    // For reads & updates, which need the entity; deletes stay a single owner-scoped statement.
+    public JobApplicationEntity getOwnedJobApplication(String id, AuthenticatedUser user) {
+        JobApplicationEntity application = jobApplicationRepository.findById(parseApplicationId(id))
+                .orElseThrow(() -> new ApplicationNotFound("Application not found."));
+
+        if (!application.getUser().getId().equals(user.id())) {
+            throw new ForbiddenApplicationAccess("Application access has been denied");
+        }
+        return application;
+    }
+
+    // Only called once the owner-scoped query came back empty: tells a foreign id from a missing one.
+    private ApplicationException missingOrForbidden(UUID applicationUUID) {
+        if (jobApplicationRepository.existsById(applicationUUID)) {
+            return new ForbiddenApplicationAccess("Application access has been denied");
+        }
+        return new ApplicationNotFound("Application not found.");
     }
 
-    public JobApplicationEntity getJobApplicationById(String id) {
-        UUID applicationUUID = UUID.fromString(id);
-        return jobApplicationRepository.findById(applicationUUID).orElseThrow(() -> new ApplicationNotFound("Application not found."));
+    private UUID parseApplicationId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationNotFound("Application not found.");
+        }
     }
 
-    private boolean isValidFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            return false;
+    // Keyset position in the (updated_at, id) ordering, sent to clients as an opaque base64 token.
+    private record ApplicationCursor(LocalDateTime updatedAt, UUID id) {
+
+        String encode() {
+            String raw = updatedAt + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
 
-        // Check file extension
-        String filename = file.getOriginalFilename();
-        if (filename == null) {
-            return false;
+        static ApplicationCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(',');
+                return new ApplicationCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1))
+                );
+            } catch (RuntimeException e) {
+                throw new ApplicationException("Invalid cursor: " + cursor, HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+
+    // Runs the db write in its own transaction once the uploads are done. No connection is held
+    // while the files are in flight, and if the write fails the fresh, unshared uploads are removed again.
+    private <T> T saveAfterUpload(Map<String, StoredDocument> documents, Supplier<T> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (RuntimeException e) {
+            documentService.discardUnreferenced(documents.values());
+            throw e;
+        }
+    }
+
+    // Validates & stores the uploaded files by content hash, or checks the keys of files the browser
+    // already put in S3. Returns what was attached, by document name (resume / cover_letter).
+    // Documents identical to the ones in @attached are left out, they need neither S3 nor a db write.
+    private Map<String, StoredDocument> storeDocuments(
+            AuthenticatedUser user,
+            Map<String, String> attached,
+            MultipartFile resumeFile,
+            String resumeKey,
+            MultipartFile coverLetterFile,
+            String coverLetterKey
+    ) {
+        Map<String, MultipartFile> files = new LinkedHashMap<>();
+        Map<String, StoredDocument> documents = new LinkedHashMap<>();
+
+        // A re-sent key of the current document is already finalized
+        if (resumeKey != null && resumeKey.equals(attached.get(RESUME))) {
+            resumeKey = null;
+        }
+        if (coverLetterKey != null && coverLetterKey.equals(attached.get(COVER_LETTER))) {
+            coverLetterKey = null;
+        }
+
+        if (resumeFile != null && !resumeFile.isEmpty()) {
+            if (!isValidFile(resumeFile)) {
+                serviceMetrics.uploadRejected(RESUME);
+                throw new FileNotValid("Resume file is not valid");
+            }
+            files.put(RESUME, resumeFile);
+        } else if (resumeKey != null && !resumeKey.isBlank()) {
+            documents.put(RESUME, documentService.finalizeUpload(user, resumeKey));
+        }
+
+        if (coverLetterFile != null && !coverLetterFile.isEmpty()) {
+            if (!isValidFile(coverLetterFile)) {
+                serviceMetrics.uploadRejected(COVER_LETTER);
+                throw new FileNotValid("Cover letter file is not valid");
+            }
+            files.put(COVER_LETTER, coverLetterFile);
+        } else if (coverLetterKey != null && !coverLetterKey.isBlank()) {
+            documents.put(COVER_LETTER, documentService.finalizeUpload(user, coverLetterKey));
+        }
+
+        if (!files.isEmpty()) {
+            documentService.storeAll(user, files, attached).forEach((name, stored) -> {
+                if (!stored.key().equals(attached.get(name))) {
+                    documents.put(name, stored);
+                }
+            });
+        }
+        return documents;
+    }
+
+    // A new application of @owner. Anything but SAVED was applied for, on @applicationDate or now,
+    // and an application created already answered got its first response that same day.
+    // Shared with JobApplicationBatchService & ImportService, so every way in stamps the same dates.
+    static JobApplicationEntity newApplication(
+            UserEntity owner,
+            String jobTitle,
+            String companyName,
+            String location,
+            StatusEnum status,
+            String jobPostUrl,
+            LocalDateTime applicationDate
+    ) {
+        JobApplicationEntity application = new JobApplicationEntity();
+        application.setUser(owner);
+        application.setJob_title(jobTitle);
+        application.setCompany_name(companyName);
+        application.setLocation(location);
+        application.setStatus(status);
+        application.setJob_post_url(jobPostUrl);
+
+        if (applicationDate != null) {
+            application.setApplication_date(applicationDate);
+        } else if (status != StatusEnum.SAVED) {
+            application.setApplication_date(LocalDateTime.now());
+        }
+        if (isResponseStatus(status)) {
+            application.setFirst_response_at(application.getApplication_date());
+        }
+        return application;
+    }
+
+    // Copies over every field that was sent and differs, stamping the status dates on the way.
+    // Returns false when nothing differed. Shared with JobApplicationBatchService.
+    static boolean applyFieldChanges(
+            JobApplicationEntity returnedJob,
+            String jobTitle,
+            String companyName,
+            String location,
+            String status,
+            String jobPostUrl
+    ) {
+        boolean changed = false;
+
+        // Job title
+        if(jobTitle != null && !jobTitle.equals(returnedJob.getJob_title())) {
+            returnedJob.setJob_title(jobTitle);
+            changed = true;
+        }
+
+        // Company name
+        if(companyName != null && !companyName.equals(returnedJob.getCompany_name())) {
+            returnedJob.setCompany_name(companyName);
+            changed = true;
+        }
+
+        // Location
+        if(location != null && !location.equals(returnedJob.getLocation())) {
+            returnedJob.setLocation(location);
+            changed = true;
+        }
+
+        // Status
+
+        if (status != null && !status.isBlank()) {
+            try {
+                StatusEnum parsedStatus = StatusEnum.valueOf(status.trim());
+                if (!parsedStatus.equals(returnedJob.getStatus())) {
+                    returnedJob.setStatus(parsedStatus);
+                    changed = true;
+
+                    if (parsedStatus != StatusEnum.SAVED && returnedJob.getApplication_date() == null) {
+                        returnedJob.setApplication_date(LocalDateTime.now());
+                    }
+
+                    if (isResponseStatus(parsedStatus) && returnedJob.getFirst_response_at() == null) {
+                        returnedJob.setFirst_response_at(LocalDateTime.now());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new ApplicationException("Invalid status: " + status, HttpStatus.NOT_FOUND);
+            }
+        }
+
+        // Job Post URL
+        if(jobPostUrl != null && !jobPostUrl.equals(returnedJob.getJob_post_url())) {
+            returnedJob.setJob_post_url(jobPostUrl);
+            changed = true;
         }
 
-        String extension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-        List<String> allowedExtensions = Arrays.asList("txt", "pdf", "doc", "docx");
+        return changed;
+    }
+
+    // Any status past APPLIED means the company has answered.
+    private static boolean isResponseStatus(StatusEnum status) {
+        return status == StatusEnum.INTERVIEW || status == StatusEnum.OFFER || status == StatusEnum.REJECTED;
+    }
 
-        if (!allowedExtensions.contains(extension)) {
+    // Quick check of what the client declared, before any upload starts. The content itself
+    // (real size & leading bytes) is validated by S3Service while the file streams to S3.
+    static boolean isValidFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
             return false;
         }
 
-        // Check file size (e.g., max 5MB)
-        if (file.getSize() > 5 * 1024 * 1024) {
+        // Check file extension
+        if (DocumentType.fromFilename(file.getOriginalFilename()).isEmpty()) {
             return false;
         }
 
-        // Add any other validation rules you need
-        return true;
+        // Check file size (max 5MB)
+        return file.getSize() <= DocumentType.MAX_SIZE_BYTES;
     }
 
     // API's below:
 
-    public List<JobApplicationDto> getJobApplications(String authToken) {
-
-        // 1. First verify user exists
+    public ApplicationPageDto getJobApplications(AuthenticatedUser user, ApplicationFilterDto filter, String cursor, Integer limit) {
+        return getJobApplications(user, filter, cursor, limit, null).body();
+    }
 
-        UserEntity user = getUserBasedOnAuth(authToken);
+    public Versioned<ApplicationPageDto> getJobApplications(
+            AuthenticatedUser user, ApplicationFilterDto filter, String cursor, Integer limit, String ifNoneMatch
+    ) {
 
-        // 2. Then check if they have applications
-        List<JobApplicationEntity> applications = user.getJobApplications();
+        // 1. One read of the summary row answers both polls & empty collections
 
-        if (applications.isEmpty()) {
+        UserSummaryEntity summary = userSummaryService.getSummary(user.id());
+        String eTag = ETags.forCollection(summary.getCollection_version());
+        if (ETags.noneMatchHits(ifNoneMatch, eTag)) {
+            return Versioned.notModified(eTag);
+        }
+        if (summary.getTotal_applications() == 0) {
             throw new NoApplicationsFound("No applications found for user");
         }
 
-        // 3. Map and return
-        return applications.stream()
+        // 2. Decode the cursor and clamp the page size
+
+        ApplicationCursor after = ApplicationCursor.decode(cursor);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // 3. Query one extra row so we know whether there is a next page
+
+        List<JobApplicationEntity> applications = jobApplicationRepository.findPage(
+                user.id(),
+                filter,
+                after == null ? null : after.updatedAt(),
+                after == null ? null : after.id(),
+                pageSize + 1
+        );
+
+        boolean hasMore = applications.size() > pageSize;
+        List<JobApplicationEntity> page = hasMore ? applications.subList(0, pageSize) : applications;
+
+        // 4. Map and return
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobApplicationEntity last = page.get(page.size() - 1);
+            nextCursor = new ApplicationCursor(last.getUpdated_at(), last.getId()).encode();
+        }
+
+        List<JobApplicationDto> items = page.stream()
                 .map(jobApplicationMapper::jobEntityToJobDto)
                 .toList();
+        return new Versioned<>(eTag, new ApplicationPageDto(items, nextCursor));
     }
 
 
-    public JobApplicationDto getJobApplication(String id, String authToken) {
+    // Changes with every create, update & delete of the user's applications. Read from the summary
+    // row alone, so a poll that ends in 304 never touches job_application.
+    public String getCollectionETag(AuthenticatedUser user) {
+        return ETags.forCollection(userSummaryService.getSummary(user.id()).getCollection_version());
+    }
 
-        // 1. Check if the user exists
+    public JobApplicationDto getJobApplication(String id, AuthenticatedUser user) {
+        return getJobApplication(id, user, null).body();
+    }
 
-        UserEntity user = getUserBasedOnAuth(authToken);
+    public Versioned<JobApplicationDto> getJobApplication(String id, AuthenticatedUser user, String ifNoneMatch) {
 
-        // 2. Check if the application they want to return even exists
+        // 1. Fetch the application scoped to the user
 
-        JobApplicationEntity returnedJob = getJobApplicationById(id);
+        JobApplicationEntity returnedJob = getOwnedJobApplication(id, user);
 
-        // 3. Check if the user auth matches the application auth
+        // 2. Answer from the version alone when the client's copy is current
 
-        if(!returnedJob.getUser().getAuth0_id().equals(user.getAuth0_id())) {
-            throw new ForbiddenApplicationAccess("Application access has been denied");
+        String eTag = ETags.forApplication(returnedJob.getVersion());
+        if (ETags.noneMatchHits(ifNoneMatch, eTag)) {
+            return Versioned.notModified(eTag);
         }
 
-        // 4. Return the application
+        // 3. Return the application
 
-        return jobApplicationMapper.jobEntityToJobDto(returnedJob);
+        return new Versioned<>(eTag, jobApplicationMapper.jobEntityToJobDto(returnedJob));
     }
 
     public JobApplicationDto createApplication(
-            String authToken,
+            AuthenticatedUser user,
             String jobTitle,
             String companyName,
             String location,
             String status,
             String jobPostUrl,
             MultipartFile resumeFile,
-            MultipartFile coverLetterFile
+            MultipartFile coverLetterFile,
+            String resumeKey,
+            String coverLetterKey
     ) {
 
-        // 1. Get the user based on auth token
+        // 1. Reference the already resolved user without loading it
 
-        UserEntity user = getUserBasedOnAuth(authToken);
+        UserEntity owner = userRepository.getReferenceById(user.id());
 
-        // 2) Convert those params into an entity (except for the file stuff)
+        // 2) Convert those params into an entity (except for the file stuff), stamping the
+        //    application date & first response for the status it is created with
 
-        JobApplicationEntity newApplication =  new JobApplicationEntity();
-        newApplication.setUser(user);
-        newApplication.setJob_title(jobTitle);
-        newApplication.setCompany_name(companyName);
-        newApplication.setLocation(location);
-        StatusEnum statusEnumValue = StatusEnum.valueOf(status);
-        newApplication.setStatus(statusEnumValue);
-        newApplication.setJob_post_url(jobPostUrl);
+        JobApplicationEntity newApplication = newApplication(
+                owner, jobTitle, companyName, location, StatusEnum.valueOf(status), jobPostUrl, null);
 
-        // 3) Extract & save the file names to the entity
+        // 3) Store the files by content hash, only content S3 does not have yet is uploaded
 
-        if (resumeFile != null && !resumeFile.isEmpty()) {
-            if (isValidFile(resumeFile)) {
-                s3Service.uploadFile(resumeFile, "resume_folder/");
-                String resumeFileName = resumeFile.getOriginalFilename();
-                String folderLocationFileResume = "resumes/" + resumeFileName;
-                newApplication.setResume_url(folderLocationFileResume);
-            } else {
-                throw new FileNotValid("Resume file is not valid");
-            }
+        Map<String, StoredDocument> documents = storeDocuments(user, Map.of(), resumeFile, resumeKey, coverLetterFile, coverLetterKey);
+        if (documents.containsKey(RESUME)) {
+            newApplication.setResume_url(documents.get(RESUME).key());
         }
-
-        if (coverLetterFile != null && !coverLetterFile.isEmpty()) {
-            if (isValidFile(coverLetterFile)) {
-                s3Service.uploadFile(coverLetterFile, "jobcover_folder/");
-                String coverLetterFileName = coverLetterFile.getOriginalFilename();
-                String folderLocationFileCoverLetter = "cover_letters/" + coverLetterFileName;
-                newApplication.setCover_letter_url(folderLocationFileCoverLetter);
-            } else {
-                throw new FileNotValid("Cover letter file is not valid");
-            }
+        if (documents.containsKey(COVER_LETTER)) {
+            newApplication.setCover_letter_url(documents.get(COVER_LETTER).key());
         }
 
-        // 4) Check if the status is anything but SAVED to set the application date
+        // 4) Save to the db now that the files are in S3, counting the new document references
 
-        if(StatusEnum.valueOf(status) != StatusEnum.SAVED){
-            newApplication.setApplication_date(LocalDateTime.now());
-        }
-
-        // 5) Save to the db
-
-        jobApplicationRepository.save(newApplication);
-        return jobApplicationMapper.jobEntityToJobDto(newApplication);
+        return saveAfterUpload(documents, () -> {
+            jobApplicationRepository.save(newApplication);
+            documents.values().forEach(documentService::addReference);
+            userSummaryService.recordCreated(user.id(), newApplication.getStatus());
+            return jobApplicationMapper.jobEntityToJobDto(newApplication);
+        });
     }
 
     public JobApplicationDto updateApplication(
             String id,
-            String authToken,
+            AuthenticatedUser user,
             String jobTitle,
             String companyName,
             String location,
             String status,
             String jobPostUrl,
             MultipartFile resumeFile,
-            MultipartFile coverLetterFile
+            MultipartFile coverLetterFile,
+            String resumeKey,
+            String coverLetterKey,
+            String ifMatch
     ){
 
-        // 1. Check if the user exists.
-
-        UserEntity user = getUserBasedOnAuth(authToken);
+        // 1. Fetch the application scoped to the user
 
-        // 2. Check if the application exists and return it.
+        JobApplicationEntity returnedJob = getOwnedJobApplication(id, user);
+        StatusEnum previousStatus = returnedJob.getStatus();
 
-        JobApplicationEntity returnedJob = getJobApplicationById(id);
+        // 2. With If-Match, refuse before anything is uploaded when the client edited an older version
 
-        // 3. Check if the auth token matches the auth token in the application
-
-        if(!returnedJob.getUser().getAuth0_id().equals(user.getAuth0_id())) {
-            throw new ForbiddenApplicationAccess("Application access has been denied");
+        if (ifMatch != null && !ETags.matchHits(ifMatch, ETags.forApplication(returnedJob.getVersion()))) {
+            throw new ApplicationVersionMismatch("Application has changed since it was read");
         }
 
-        // 4. Update the fields by comparing the returned entity to the new application fields.
+        // 3. Update the fields by comparing the returned entity to the new application fields.
 
-        // Job title
-        if(jobTitle != null && !jobTitle.equals(returnedJob.getJob_title())) {
-            returnedJob.setJob_title(jobTitle);
-        }
+        boolean fieldsChanged = applyFieldChanges(returnedJob, jobTitle, companyName, location, status, jobPostUrl);
 
-        // Company name
-        if(companyName != null && !companyName.equals(returnedJob.getCompany_name())) {
-            returnedJob.setCompany_name(companyName);
-        }
+        // Resume URL & Cover Letter URL
+        // 4. Store the files by content hash, only content S3 does not have yet is uploaded.
+        //    A file with the same content as the attached document is dropped after hashing.
 
-        // Location
-        if(location != null && !location.equals(returnedJob.getLocation())) {
-            returnedJob.setLocation(location);
+        Map<String, String> attached = new LinkedHashMap<>();
+        if (returnedJob.getResume_url() != null) {
+            attached.put(RESUME, returnedJob.getResume_url());
         }
+        if (returnedJob.getCover_letter_url() != null) {
+            attached.put(COVER_LETTER, returnedJob.getCover_letter_url());
+        }
+        Map<String, StoredDocument> documents = storeDocuments(user, attached, resumeFile, resumeKey, coverLetterFile, coverLetterKey);
 
-        // Status
-
-        if (status != null && !status.isBlank()) {
-            try {
-                StatusEnum parsedStatus = StatusEnum.valueOf(status.trim());
-                if (!parsedStatus.equals(returnedJob.getStatus())) {
-                    returnedJob.setStatus(parsedStatus);
+        // 5. Nothing differs (autosaves mostly): skip the write, so the version & updated_at stay put
 
-                    if (parsedStatus != StatusEnum.SAVED && returnedJob.getApplication_date() == null) {
-                        returnedJob.setApplication_date(LocalDateTime.now());
-                    }
-                }
-            } catch (IllegalArgumentException e) {
-                throw new ApplicationException("Invalid status: " + status, HttpStatus.NOT_FOUND);
-            }
+        if (!fieldsChanged && documents.isEmpty()) {
+            return jobApplicationMapper.jobEntityToJobDto(returnedJob);
         }
-
-        // Job Post URL
-        if(jobPostUrl != null && !jobPostUrl.equals(returnedJob.getJob_post_url())) {
-            returnedJob.setJob_post_url(jobPostUrl);
+        List<String> replacedKeys = new ArrayList<>();
+        if (documents.containsKey(RESUME)) {
+            replacedKeys.add(returnedJob.getResume_url());
+            returnedJob.setResume_url(documents.get(RESUME).key());
+        }
+        if (documents.containsKey(COVER_LETTER)) {
+            replacedKeys.add(returnedJob.getCover_letter_url());
+            returnedJob.setCover_letter_url(documents.get(COVER_LETTER).key());
         }
 
-        // Resume URL & Cover Letter URL
-        // 5. Extract & save the file names to the entity
+        // 6. Save to db & set the new date for the updated_at field, moving the document references over.
+        //    The flush runs the versioned UPDATE here, so the returned version is the new one and a
+        //    concurrent update that got in first is caught.
 
-        if (resumeFile != null && !resumeFile.isEmpty()) {
-            if (isValidFile(resumeFile)) {
-                s3Service.uploadFile(resumeFile, "resume_folder/");
-                String resumeFileName = resumeFile.getOriginalFilename();
-                String folderLocationFileResume = "resumes/" + resumeFileName;
-                returnedJob.setResume_url(folderLocationFileResume);
-            } else {
-                throw new FileNotValid("Resume file is not valid");
+        returnedJob.setUpdated_at(LocalDateTime.now());
+        try {
+            return saveAfterUpload(documents, () -> {
+                JobApplicationEntity saved = jobApplicationRepository.saveAndFlush(returnedJob);
+                documents.values().forEach(documentService::addReference);
+                replacedKeys.forEach(documentService::removeReference);
+                userSummaryService.recordUpdated(user.id(), previousStatus, saved.getStatus());
+                return jobApplicationMapper.jobEntityToJobDto(saved);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                throw new ApplicationVersionMismatch("Application has changed since it was read");
             }
+            throw e;
         }
+    }
 
-        if (coverLetterFile != null && !coverLetterFile.isEmpty()) {
-            if (isValidFile(coverLetterFile)) {
-                s3Service.uploadFile(coverLetterFile, "jobcover_folder/");
-                String coverLetterFileName = coverLetterFile.getOriginalFilename();
-                String folderLocationFileCoverLetter = "cover_letters/" + coverLetterFileName;
-                returnedJob.setCover_letter_url(folderLocationFileCoverLetter);
-            } else {
-                throw new FileNotValid("Cover letter file is not valid");
-            }
-        }
+    public PresignedUrlDto getDocumentUrl(String id, AuthenticatedUser user, String document) {
 
-        // 5. Save to db & set the new date for the updated_at field.
+        // 1. Resolve the document of an application the user owns
 
-        returnedJob.setUpdated_at(LocalDateTime.now());
-        jobApplicationRepository.save(returnedJob);
-        return jobApplicationMapper.jobEntityToJobDto(returnedJob);
+        String key = getDocumentKey(id, user, document);
+
+        // 2. Sign a short-lived GET so the browser downloads it from S3 directly
+
+        return documentService.createDownloadUrl(key);
     }
 
-    public void deleteApplication(String id, String authToken){
+    // The S3 key of the resume / cover_letter of an application the user owns. Downloads only ever
+    // go through this, so a key is never taken from the client.
+    public String getDocumentKey(String id, AuthenticatedUser user, String document) {
+
+        // 1. Fetch the application scoped to the user
 
-        // 1. Check if the user exists
+        JobApplicationEntity returnedJob = getOwnedJobApplication(id, user);
 
-        UserEntity user = getUserBasedOnAuth(authToken);
+        // 2. Pick the requested document
 
-        // 2. Check if the application exists
+        String key = switch (document) {
+            case RESUME -> returnedJob.getResume_url();
+            case COVER_LETTER -> returnedJob.getCover_letter_url();
+            default -> throw new ApplicationException("Unknown document: " + document, HttpStatus.BAD_REQUEST);
+        };
+        if (key == null) {
+            throw new FileNotFound("Application has no " + document);
+        }
+        return key;
+    }
 
-        JobApplicationEntity returnedJob = getJobApplicationById(id);
+    @Transactional
+    public void deleteApplication(String id, AuthenticatedUser user){
 
-        // 3. Check if the application auth token matches the user token
+        // 1. Look up what the delete has to keep in step, scoped to the user
 
-        if(!user.getAuth0_id().equals(returnedJob.getUser().getAuth0_id())) {
-            throw new ForbiddenApplicationAccess("Application access has been denied");
+        UUID applicationUUID = parseApplicationId(id);
+        OwnedApplicationView returnedJob = jobApplicationRepository.findByIdAndOwner(applicationUUID, user.id())
+                .orElseThrow(() -> missingOrForbidden(applicationUUID));
+
+        // 2. Delete it with the same ownership condition, then evict just this entry & the owner's
+        //    collection (again after commit, so a concurrent read can't leave the deleted row cached)
+
+        if (jobApplicationRepository.deleteByIdAndOwner(applicationUUID, user.id()) == 0) {
+            return;
         }
+        evictFromCache(applicationUUID, user.id());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evictFromCache(applicationUUID, user.id());
+            }
+        });
 
-        // 4. Delete the application
+        // 3. Keep the document references & the summary in step
 
-        jobApplicationRepository.delete(returnedJob);
+        documentService.removeReference(returnedJob.getResume_url());
+        documentService.removeReference(returnedJob.getCover_letter_url());
+        userSummaryService.recordDeleted(user.id(), returnedJob.getStatus());
     }
 
+    private void evictFromCache(UUID applicationId, UUID userId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(JobApplicationEntity.class, applicationId);
+        cache.evictCollectionData(USER_APPLICATIONS_ROLE, userId);
+    }
 
-
-}
+}
\ No newline at end of file
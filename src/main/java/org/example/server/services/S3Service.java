@@ -1,19 +1,52 @@
 package org.example.server.services;
 
 import lombok.RequiredArgsConstructor;
+import org.example.server.documents.DocumentDownload;
+import org.example.server.documents.DocumentRejectedException;
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.DocumentUpload;
+import org.example.server.documents.ValidatedDocumentStream;
+import org.example.server.exceptions.file.FileNotFound;
 import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.exceptions.file.FileUploadFailed;
+import org.example.server.exceptions.file.RangeNotSatisfiable;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.metrics.ServiceMetrics.S3Operation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -21,41 +54,277 @@ public class S3Service {
 
     private final S3Client s3Client;
 
+    private final S3AsyncClient s3AsyncClient;
+
+    private final ExecutorService s3UploadExecutor;
+
+    private final S3Presigner s3Presigner;
+
+    private final ServiceMetrics serviceMetrics;
+
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("bytes=(\\d+-\\d*|-\\d+)");
+
     @Value("${aws.bucket.name}")
     private String bucketName;
 
-    public void uploadFile(MultipartFile file, String folderDestination) throws FileNotValid {
+    @Value("${aws.upload.timeout:30s}")
+    private Duration uploadTimeout;
+
+    // Uploads every file at the same time and waits for all of them. Each file is streamed from
+    // the multipart part straight into S3 (never copied onto the heap) and validated on the way.
+    // If any upload fails or the timeout passes, the ones that already landed are deleted.
+    public void uploadFiles(List<DocumentUpload> documents) throws FileNotValid {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        Map<String, CompletableFuture<PutObjectResponse>> uploads = new LinkedHashMap<>();
+        List<ValidatedDocumentStream> streams = new ArrayList<>();
         try {
-            String fileName = file.getOriginalFilename();
-            String fullPath = folderDestination + fileName;
-
-            s3Client.putObject(PutObjectRequest.builder()
-                            .bucket(bucketName)
-                            .key(fullPath)
-                            .build(),
-                    RequestBody.fromBytes(file.getBytes()));
+            for (DocumentUpload document : documents) {
+                MultipartFile file = document.file();
+                ValidatedDocumentStream stream = openValidated(file);
+                streams.add(stream);
+
+                uploads.put(document.key(), s3AsyncClient.putObject(
+                        putRequest(document, stream.getType()),
+                        AsyncRequestBody.fromInputStream(stream, file.getSize(), s3UploadExecutor)));
+            }
+
+            CompletableFuture.allOf(uploads.values().toArray(CompletableFuture[]::new))
+                    .get(uploadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            for (DocumentUpload document : documents) {
+                serviceMetrics.s3BytesOut(document.file().getSize());
+            }
+        } catch (DocumentRejectedException e) {
+            abortUploads(uploads);
+            throw new FileNotValid(e.getMessage());
         } catch (IOException e) {
-            throw new FileNotValid("Failed to read file bytes: " + e.getMessage());
+            abortUploads(uploads);
+            throw new FileNotValid("Failed to read file: " + e.getMessage());
+        } catch (ExecutionException e) {
+            abortUploads(uploads);
+            DocumentRejectedException rejected = findRejection(e);
+            if (rejected != null) {
+                throw new FileNotValid(rejected.getMessage());
+            }
+            serviceMetrics.s3Error(S3Operation.UPLOAD);
+            throw new FileUploadFailed("Failed to upload file: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            abortUploads(uploads);
+            serviceMetrics.s3Error(S3Operation.UPLOAD);
+            throw new FileUploadFailed("Uploading files timed out after " + uploadTimeout.toSeconds() + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortUploads(uploads);
+            throw new FileUploadFailed("Uploading files was interrupted");
+        } finally {
+            streams.forEach(this::closeQuietly);
+        }
+    }
+
+    private PutObjectRequest putRequest(DocumentUpload document, DocumentType type) {
+        return PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(document.key())
+                .contentType(type.getContentType())
+                .checksumSHA256(document.sha256Base64())
+                .build();
+    }
+
+    // Cheap checks on what the client declared first, then the content itself as it is read.
+    private ValidatedDocumentStream openValidated(MultipartFile file) throws IOException {
+        if (file.getSize() > DocumentType.MAX_SIZE_BYTES) {
+            throw new DocumentRejectedException("File is larger than " + DocumentType.MAX_SIZE_BYTES + " bytes");
+        }
+        return ValidatedDocumentStream.open(file.getInputStream(), file.getOriginalFilename(), DocumentType.MAX_SIZE_BYTES);
+    }
+
+    // The SDK wraps failures from the request body, so the rejection may sit a few causes deep.
+    private static DocumentRejectedException findRejection(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DocumentRejectedException rejected) {
+                return rejected;
+            }
+        }
+        return null;
+    }
+
+    private void closeQuietly(ValidatedDocumentStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing left to do with a part we have finished reading.
+        }
+    }
+
+    // Best effort: used to roll back uploads when the write that references them fails.
+    public void deleteFiles(Collection<String> keys) {
+        for (String key : keys) {
+            s3AsyncClient.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(key).build())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null) {
+                            serviceMetrics.s3Error(S3Operation.DELETE);
+                        }
+                    });
+        }
+    }
+
+    private void abortUploads(Map<String, CompletableFuture<PutObjectResponse>> uploads) {
+        uploads.forEach((key, upload) -> {
+            if (upload.isDone() && !upload.isCompletedExceptionally()) {
+                deleteFiles(List.of(key));
+            } else {
+                upload.cancel(true);
+            }
+        });
+    }
+
+    // Opens the object as a stream instead of buffering it. Range and If-None-Match are passed
+    // straight through to S3, so a resumed download or a PDF viewer fetching pages only pulls
+    // the bytes it asked for. If-Range is honoured by asking S3 for the range only while the
+    // ETag still matches, and falling back to the whole object when it does not. A weak ETag or a
+    // date in If-Range can't be checked that way, so the whole object is sent (always a valid answer).
+    public DocumentDownload openDownload(String fileName, String range, String ifNoneMatch, String ifRange) {
+        boolean strongIfRange = ifRange != null && ifRange.startsWith("\"");
+        String byteRange = isSingleByteRange(range) && (ifRange == null || strongIfRange) ? range : null;
+        String rangeIfMatch = byteRange != null && strongIfRange ? ifRange : null;
+
+        try {
+            return open(fileName, byteRange, ifNoneMatch, rangeIfMatch);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 412 && rangeIfMatch != null) {
+                return open(fileName, null, ifNoneMatch, null);
+            }
+            throw e;
         }
     }
 
-    public byte[] downloadFile(String fileName) {
+    private DocumentDownload open(String fileName, String range, String ifNoneMatch, String ifMatch) {
         GetObjectRequest request = GetObjectRequest.builder()
                 .bucket(bucketName)
                 .key(fileName)
+                .range(range)
+                .ifNoneMatch(ifNoneMatch)
+                .ifMatch(ifMatch)
                 .build();
 
-        ResponseBytes<GetObjectResponse> objectAsBytes = s3Client.getObjectAsBytes(request);
+        try {
+            ResponseInputStream<GetObjectResponse> object = s3Client.getObject(request);
+            GetObjectResponse response = object.response();
+            return new DocumentDownload(
+                    false,
+                    response.eTag(),
+                    response.contentLength(),
+                    response.contentRange(),
+                    response.contentType(),
+                    response.lastModified(),
+                    out -> {
+                        try (object) {
+                            serviceMetrics.s3BytesIn(object.transferTo(out));
+                        }
+                    }
+            );
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFound("File not found: " + fileName);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 304) {
+                return DocumentDownload.notModified(ifNoneMatch);
+            }
+            if (e.statusCode() == 416) {
+                throw new RangeNotSatisfiable("Requested range not satisfiable: " + range);
+            }
+            // 412 is the If-Range miss openDownload retries, not a failure
+            if (e.statusCode() != 412) {
+                serviceMetrics.s3Error(S3Operation.DOWNLOAD);
+            }
+            throw e;
+        }
+    }
 
-        return objectAsBytes.asByteArray();
+    // S3 serves one range per request; anything else is ignored and the whole object is sent.
+    private static boolean isSingleByteRange(String range) {
+        return range != null && SINGLE_BYTE_RANGE.matcher(range.trim()).matches();
     }
 
+    // Content type, length and checksum are signed into the URL, so S3 rejects a PUT that differs from
+    // what we validated when handing the URL out.
+    public PresignedPutObjectRequest presignUpload(String key, String contentType, long contentLength, String sha256Base64, Duration ttl) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .checksumSHA256(sha256Base64)
+                .build();
 
+        return s3Presigner.presignPutObject(presign -> presign
+                .signatureDuration(ttl)
+                .putObjectRequest(request));
+    }
 
+    public PresignedGetObjectRequest presignDownload(String key, String fileName, Duration ttl) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .responseContentDisposition("inline; filename=\"" + fileName + "\"")
+                .build();
 
+        return s3Presigner.presignGetObject(presign -> presign
+                .signatureDuration(ttl)
+                .getObjectRequest(request));
+    }
 
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            serviceMetrics.s3Error(S3Operation.HEAD);
+            throw e;
+        }
+    }
 
+    // Includes the stored SHA-256 checksum when the object was put with one.
+    public HeadObjectResponse headObject(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .checksumMode(ChecksumMode.ENABLED)
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFound("File not found: " + key);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new FileNotFound("File not found: " + key);
+            }
+            serviceMetrics.s3Error(S3Operation.HEAD);
+            throw e;
+        }
+    }
 
+    // Reads only the first @length bytes of the object.
+    public byte[] readHead(String key, int length) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=0-" + (length - 1))
+                .build();
 
+        try {
+            byte[] head = s3Client.getObjectAsBytes(request).asByteArray();
+            serviceMetrics.s3BytesIn(head.length);
+            return head;
+        } catch (S3Exception e) {
+            serviceMetrics.s3Error(S3Operation.DOWNLOAD);
+            throw e;
+        }
+    }
 
 }
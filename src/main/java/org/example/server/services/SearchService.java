@@ -0,0 +1,86 @@
+package org.example.server.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.mappers.JobApplicationMapper;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// Ranked search over a user's applications. Matching & ranking happen in Postgres on the indexed
+// search columns, only the requested page ever comes back.
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    // Ranked results have no stable keyset, so pages are offsets; this keeps a deep page cheap enough.
+    private static final int MAX_OFFSET = 1000;
+
+    private final JobApplicationRepository jobApplicationRepository;
+
+    private final JobApplicationMapper jobApplicationMapper;
+
+    @Transactional(readOnly = true)
+    public ApplicationPageDto searchApplications(AuthenticatedUser user, String query, String cursor, Integer limit) {
+
+        // 1. Validate the query & decode the page position
+
+        if (query == null || query.isBlank()) {
+            throw new ApplicationException("A search query is required", HttpStatus.BAD_REQUEST);
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ApplicationException("Search query is longer than " + MAX_QUERY_LENGTH + " characters", HttpStatus.BAD_REQUEST);
+        }
+        int offset = decodeOffset(cursor);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // 2. Query one extra row so we know whether there is a next page
+
+        List<JobApplicationEntity> applications = jobApplicationRepository.search(user.id(), query.trim(), offset, pageSize + 1);
+
+        boolean hasMore = applications.size() > pageSize && offset + pageSize < MAX_OFFSET;
+        List<JobApplicationEntity> page = applications.size() > pageSize ? applications.subList(0, pageSize) : applications;
+
+        // 3. Map and return
+
+        String nextCursor = hasMore ? encodeOffset(offset + pageSize) : null;
+        List<JobApplicationDto> items = page.stream()
+                .map(jobApplicationMapper::jobEntityToJobDto)
+                .toList();
+        return new ApplicationPageDto(items, nextCursor);
+    }
+
+    private String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0 || offset >= MAX_OFFSET) {
+                throw new IllegalArgumentException();
+            }
+            return offset;
+        } catch (RuntimeException e) {
+            throw new ApplicationException("Invalid cursor: " + cursor, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
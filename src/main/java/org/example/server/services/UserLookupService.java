@@ -0,0 +1,49 @@
+package org.example.server.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.user.UserNotFoundException;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+// Maps auth0 ids to users through a bounded, expiring in-process cache,
+// so most requests never query the users table just to identify the caller.
+@Service
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, AuthenticatedUser> usersByAuth0Id;
+
+    public UserLookupService(
+            UserRepository userRepository,
+            @Value("${users.cache.max-size:10000}") long maxSize,
+            @Value("${users.cache.ttl:10m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.usersByAuth0Id = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Misses are not cached, so a user who signs up is visible on their next request.
+    public AuthenticatedUser resolve(String auth0Id) {
+        return usersByAuth0Id.get(auth0Id, this::load);
+    }
+
+    public void evict(String auth0Id) {
+        usersByAuth0Id.invalidate(auth0Id);
+    }
+
+    private AuthenticatedUser load(String auth0Id) {
+        UserEntity user = userRepository.findByAuth0_id(auth0Id)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        return new AuthenticatedUser(user.getId(), user.getAuth0_id(), user.getEmail(), user.getName());
+    }
+}
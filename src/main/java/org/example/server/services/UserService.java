@@ -6,20 +6,26 @@ import org.example.server.exceptions.user.UserAlreadyExistsException;
 import org.example.server.mappers.UserMapper;
 import org.example.server.repositories.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
-    private UserRepository userRepository;
+    private final UserRepository userRepository;
 
-    private UserMapper userMapper;
+    private final UserMapper userMapper;
+
+    private final UserSummaryService userSummaryService;
+
+    private final UserLookupService userLookupService;
 
     // Method/s Below:
 
     // This creates a user using the @auth and @userDtoParam,
     // where auth is the token and userDtoParam is the new user.
 
+    @Transactional
     public void createUser(String auth, UserDto userDtoParam) {
 
         // 1.) First check if the user exists already.
@@ -33,8 +39,13 @@ public class UserService {
         var dtoToUser = userMapper.userDtoToUser(userDtoParam);
         dtoToUser.setAuth0_id(auth);
 
-        // 3.) Save the user to the db
+        // 3.) Save the user to the db, along with an empty summary row
 
         userRepository.save(dtoToUser);
+        userSummaryService.initialize(dtoToUser.getId());
+
+        // 4.) Make sure no stale lookup for this auth id survives
+
+        userLookupService.evict(auth);
     }
 }
\ No newline at end of file
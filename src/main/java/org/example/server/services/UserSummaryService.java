@@ -0,0 +1,148 @@
+package org.example.server.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserSummaryEntity;
+import org.example.server.repositories.AggregationRepository;
+import org.example.server.repositories.UserSummaryRepository;
+import org.example.server.repositories.projections.StatusCountView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class UserSummaryService {
+
+    private final UserSummaryRepository userSummaryRepository;
+
+    private final AggregationRepository aggregationRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    // Reads below:
+
+    // Not transactional: the select borrows a connection only for itself, so a missing row can be
+    // backfilled in a transaction of its own without holding a second connection while it waits
+    // for one. Callers read the summary before opening a transaction, as a read-only one can't
+    // take the insert.
+    public UserSummaryEntity getSummary(UUID userId) {
+        Optional<UserSummaryEntity> summary = userSummaryRepository.findById(userId);
+        if (summary.isPresent()) {
+            return summary.get();
+        }
+
+        // Users created before summaries existed have no row yet.
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("The summary backfill can't run inside a read-only transaction");
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            backfill(userId);
+            return userSummaryRepository.findById(userId).orElseThrow();
+        });
+    }
+
+    public long countFor(UserSummaryEntity summary, StatusEnum status) {
+        return switch (status) {
+            case SAVED -> summary.getSaved_count();
+            case APPLIED -> summary.getApplied_count();
+            case INTERVIEW -> summary.getInterview_count();
+            case OFFER -> summary.getOffer_count();
+            case REJECTED -> summary.getRejected_count();
+        };
+    }
+
+    // Writes below, they must join the transaction that changes job_application:
+
+    // The id is assigned, so save() would merge: a select for the row before inserting it. A new
+    // user has none, so insert straight away.
+    @Transactional
+    public void initialize(UUID userId) {
+        UserSummaryEntity summary = new UserSummaryEntity();
+        summary.setUser_id(userId);
+        userSummaryRepository.insertIfAbsent(summary);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(UUID userId, StatusEnum status) {
+        Map<StatusEnum, Long> deltas = new EnumMap<>(StatusEnum.class);
+        deltas.put(status, 1L);
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(UUID userId, StatusEnum previousStatus, StatusEnum newStatus) {
+        Map<StatusEnum, Long> deltas = new EnumMap<>(StatusEnum.class);
+        if (previousStatus != newStatus) {
+            deltas.put(previousStatus, -1L);
+            deltas.put(newStatus, 1L);
+        }
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(UUID userId, StatusEnum status) {
+        Map<StatusEnum, Long> deltas = new EnumMap<>(StatusEnum.class);
+        deltas.put(status, -1L);
+        apply(userId, deltas);
+    }
+
+    // Net deltas of a whole batch, applied in one statement.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(UUID userId, Map<StatusEnum, Long> deltas) {
+        apply(userId, deltas);
+    }
+
+    private void apply(UUID userId, Map<StatusEnum, Long> deltas) {
+        int updated = applyDelta(userId, deltas);
+
+        // Users created before summaries existed have no row yet. The backfill counts the
+        // table as it is now (this transaction's write included), so the delta is already in it.
+        // When a concurrent transaction inserted the row first, the delta still has to go on top.
+        if (updated == 0 && !backfill(userId)) {
+            applyDelta(userId, deltas);
+        }
+    }
+
+    private int applyDelta(UUID userId, Map<StatusEnum, Long> deltas) {
+        return userSummaryRepository.applyDelta(
+                userId,
+                deltas.getOrDefault(StatusEnum.SAVED, 0L),
+                deltas.getOrDefault(StatusEnum.APPLIED, 0L),
+                deltas.getOrDefault(StatusEnum.INTERVIEW, 0L),
+                deltas.getOrDefault(StatusEnum.OFFER, 0L),
+                deltas.getOrDefault(StatusEnum.REJECTED, 0L),
+                LocalDateTime.now()
+        );
+    }
+
+    // Inserts the counted row unless another transaction already has. Returns false in that case.
+    private boolean backfill(UUID userId) {
+        UserSummaryEntity summary = new UserSummaryEntity();
+        summary.setUser_id(userId);
+        summary.setLast_activity_at(LocalDateTime.now());
+
+        long total = 0;
+        for (StatusCountView row : aggregationRepository.countByStatus(userId)) {
+            switch (row.getStatus()) {
+                case SAVED -> summary.setSaved_count(row.getTotal());
+                case APPLIED -> summary.setApplied_count(row.getTotal());
+                case INTERVIEW -> summary.setInterview_count(row.getTotal());
+                case OFFER -> summary.setOffer_count(row.getTotal());
+                case REJECTED -> summary.setRejected_count(row.getTotal());
+            }
+            total += row.getTotal();
+        }
+        summary.setTotal_applications(total);
+        return userSummaryRepository.insertIfAbsent(summary) > 0;
+    }
+}
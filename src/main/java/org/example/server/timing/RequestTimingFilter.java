@@ -0,0 +1,130 @@
+package org.example.server.timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+// Opens the timing collector for each request and logs the ones slower than @slowThreshold with
+// their breakdown, as a single logfmt line. A request that goes async (a streamed export, import or
+// download) is only finished once the container completes it, so the time spent writing the body
+// counts too. Its headers are gone by then, so its Server-Timing is sent as a trailer instead.
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final String TIMINGS_ATTRIBUTE = RequestTimingFilter.class.getName() + ".timings";
+
+    private final long slowThresholdNanos;
+
+    private final boolean serverTimingTrailer;
+
+    public RequestTimingFilter(Duration slowThreshold, boolean serverTimingTrailer) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.serverTimingTrailer = serverTimingTrailer;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            RequestTimings.resume((RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                RequestTimings.end();
+            }
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            if (isAsyncStarted(request)) {
+                request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+                request.getAsyncContext().addListener(new CompletionListener(request, response, timings));
+                if (serverTimingTrailer) {
+                    addServerTimingTrailer(response, timings);
+                }
+            } else {
+                logIfSlow(request, response, timings);
+            }
+        }
+    }
+
+    // Trailers need a chunked response: forcing one would drop the Content-Length of a download, and
+    // HTTP/1.0 has none at all (the container refuses those), so such responses go without.
+    private static void addServerTimingTrailer(HttpServletResponse response, RequestTimings timings) {
+        if (response.containsHeader(HttpHeaders.CONTENT_LENGTH)) {
+            return;
+        }
+        try {
+            response.setTrailerFields(() -> Map.of(TimedJsonHttpMessageConverter.SERVER_TIMING, timings.serverTiming()));
+        } catch (IllegalStateException e) {
+            log.debug("No Server-Timing trailer for this response", e);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        if (timings.elapsedNanos() >= slowThresholdNanos) {
+            log.warn("slow_request method={} path={} status={} {}",
+                    request.getMethod(), pathOf(request), response.getStatus(), timings.summary());
+        }
+    }
+
+    // The matched route (/applications/{id}) rather than the raw URI, so ids & queries stay out of the log.
+    private static String pathOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final RequestTimings timings;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+            this.request = request;
+            this.response = response;
+            this.timings = timings;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logIfSlow(request, response, timings);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Listeners are dropped when an async dispatch starts async again, so stay for the next round.
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.server.timing;
+
+import org.example.server.metrics.SqlStatementCounter;
+
+import java.util.Locale;
+
+// Where one request spent its time, per category. Lives in a thread local while a thread works on
+// the request (see RequestTimingFilter): the request thread, the one running its async dispatch &
+// the async executor writing a streamed body (see propagate). Outside a request, or when timing is
+// disabled, current() is null and nothing is recorded. Those threads take turns, the body only
+// starting once the handler has returned, so it needs no locking.
+public final class RequestTimings {
+
+    public enum Category {
+        AUTH("auth"),
+        DB("db"),
+        S3("s3"),
+        MAPPING("mapping"),
+        JSON("json");
+
+        private static final Category[] VALUES = values();
+
+        private final String metricName;
+
+        Category(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    // Bound by RequestStatementsFilter, which runs outside this one; null when it is not there.
+    private final SqlStatementCounter.Count statements = SqlStatementCounter.current();
+
+    private final int statementsAtStart = statements != null ? statements.statements() : 0;
+
+    private final long[] nanos = new long[Category.VALUES.length];
+
+    private final int[] calls = new int[Category.VALUES.length];
+
+    private final int[] depth = new int[Category.VALUES.length];
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    // Attaches the timings of a request that went async to the thread running its async dispatch.
+    static void resume(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    // Wraps @task, about to be handed to another thread, so the time it spends is the submitting
+    // request's.
+    public static Runnable propagate(Runnable task) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            RequestTimings previous = CURRENT.get();
+            CURRENT.set(timings);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    // Returns the start to hand to exit(). A call nested in one of the same category (a repository
+    // calling a repository) is left to the outer one, so nothing is counted twice.
+    public long enter(Category category) {
+        return depth[category.ordinal()]++ == 0 ? System.nanoTime() : 0;
+    }
+
+    public void exit(Category category, long start) {
+        int index = category.ordinal();
+        if (--depth[index] == 0) {
+            nanos[index] += System.nanoTime() - start;
+            calls[index]++;
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public int sqlStatements() {
+        return statements != null ? statements.statements() - statementsAtStart : 0;
+    }
+
+    // e.g. db;dur=12.4;desc="3 calls, 5 statements", s3;dur=48.0;desc="1 call", total;dur=63.2
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(160);
+        for (Category category : Category.VALUES) {
+            int index = category.ordinal();
+            if (calls[index] == 0) {
+                continue;
+            }
+            header.append(category.metricName).append(";dur=").append(millis(nanos[index]))
+                    .append(";desc=\"").append(calls[index]).append(calls[index] == 1 ? " call" : " calls");
+            if (category == Category.DB) {
+                header.append(", ").append(sqlStatements()).append(" statements");
+            }
+            header.append("\", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    // logfmt, e.g. total_ms=1204.3 db_ms=950.1 db_calls=12 sql_statements=31 s3_ms=0.0 ...
+    public String summary() {
+        StringBuilder summary = new StringBuilder(200).append("total_ms=").append(millis(elapsedNanos()));
+        for (Category category : Category.VALUES) {
+            int index = category.ordinal();
+            summary.append(' ').append(category.metricName).append("_ms=").append(millis(nanos[index]))
+                    .append(' ').append(category.metricName).append("_calls=").append(calls[index]);
+        }
+        return summary.append(" sql_statements=").append(sqlStatements()).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.server.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+// Serializes JSON bodies into a buffer first, so the time it took is known while the headers can
+// still be changed. The Server-Timing header then goes out with the full breakdown, JSON included.
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean serverTimingHeader;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, boolean serverTimingHeader) {
+        super(objectMapper);
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        long start = timings.enter(RequestTimings.Category.JSON);
+        try {
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+        } finally {
+            timings.exit(RequestTimings.Category.JSON, start);
+        }
+
+        if (serverTimingHeader) {
+            outputMessage.getHeaders().add(SERVER_TIMING, timings.serverTiming());
+        }
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.server.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// Adds the time spent in the advised beans to the current request's @category.
+public class TimingInterceptor implements MethodInterceptor {
+
+    private final RequestTimings.Category category;
+
+    public TimingInterceptor(RequestTimings.Category category) {
+        this.category = category;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return invocation.proceed();
+        }
+
+        long start = timings.enter(category);
+        try {
+            return invocation.proceed();
+        } finally {
+            timings.exit(category, start);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- When an application first moved past APPLIED, for the dashboard's response-time figures.
+
+ALTER TABLE job_application ADD COLUMN first_response_at TIMESTAMP(6);
@@ -0,0 +1,14 @@
+-- Per-user counters for the dashboard, maintained in the same transaction as job_application.
+-- Existing users get their row backfilled on first read.
+
+CREATE TABLE user_summary (
+    user_id            UUID   NOT NULL,
+    saved_count        BIGINT NOT NULL,
+    applied_count      BIGINT NOT NULL,
+    interview_count    BIGINT NOT NULL,
+    offer_count        BIGINT NOT NULL,
+    rejected_count     BIGINT NOT NULL,
+    total_applications BIGINT NOT NULL,
+    last_activity_at   TIMESTAMP(6),
+    CONSTRAINT pk_user_summary PRIMARY KEY (user_id)
+);
@@ -0,0 +1,11 @@
+-- One row per stored S3 object, with how many application fields reference it.
+
+CREATE TABLE document (
+    s3_key       VARCHAR(255) NOT NULL,
+    sha256       VARCHAR(64)  NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size_bytes   BIGINT       NOT NULL,
+    ref_count    BIGINT       NOT NULL,
+    created_at   TIMESTAMP(6),
+    CONSTRAINT pk_document PRIMARY KEY (s3_key)
+);
@@ -0,0 +1,34 @@
+-- Schema as Hibernate's ddl-auto created it from the original two entities. Databases that already
+-- have these tables are baselined at this version (spring.flyway.baseline-on-migrate), so this only
+-- runs on new ones; everything added since is a later migration.
+
+CREATE TABLE users (
+    id         UUID         NOT NULL,
+    auth0_id   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at DATE         NOT NULL,
+    updated_at DATE         NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_auth0_id UNIQUE (auth0_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- status is the StatusEnum ordinal
+CREATE TABLE job_application (
+    id               UUID         NOT NULL,
+    fk_id            UUID,
+    job_title        VARCHAR(255) NOT NULL,
+    company_name     VARCHAR(255) NOT NULL,
+    location         VARCHAR(255),
+    status           SMALLINT     NOT NULL,
+    job_post_url     VARCHAR(255) NOT NULL,
+    cover_letter_url VARCHAR(255),
+    resume_url       VARCHAR(255),
+    application_date TIMESTAMP(6),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_job_application PRIMARY KEY (id),
+    CONSTRAINT fk_job_application_user FOREIGN KEY (fk_id) REFERENCES users (id),
+    CONSTRAINT ck_job_application_status CHECK (status BETWEEN 0 AND 4)
+);
@@ -0,0 +1,8 @@
+-- Indexes for the per-user queries. Every read is scoped to one user (fk_id) and then either
+-- filters on status or pages through (updated_at, id) newest first, so both lead with fk_id and
+-- also serve plain fk_id lookups & the foreign key. users.auth0_id is already covered by its
+-- unique constraint.
+
+CREATE INDEX idx_job_application_user_status ON job_application (fk_id, status);
+
+CREATE INDEX idx_job_application_user_updated ON job_application (fk_id, updated_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- Optimistic locking & ETags. job_application.version is bumped by Hibernate on every update;
+-- user_summary.collection_version is bumped with the counters whenever any of the user's
+-- applications is created, changed or deleted. Constant defaults, so no table rewrite on Postgres.
+
+ALTER TABLE job_application ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE user_summary ADD COLUMN collection_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- Stand-in for the Postgres search migration, which needs tsvector & pg_trgm. Keeps the version
+-- numbers of both vendors in step; search itself only runs against Postgres.
+
+CREATE INDEX idx_job_application_company ON job_application (company_name);
@@ -0,0 +1,16 @@
+-- Full-text search over title, company & location, plus trigram matching so misspelled
+-- company names still find something. The vector is a generated column, so every write keeps it
+-- current without the application having to know about it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE job_application
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(job_title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(company_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(location, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_job_application_search_vector ON job_application USING gin (search_vector);
+
+CREATE INDEX idx_job_application_company_trgm ON job_application USING gin (lower(company_name) gin_trgm_ops);
@@ -0,0 +1,152 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.DashboardDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.dtos.WeeklyApplicationsDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.AggregationService;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ServiceSliceTest
+@Import(AggregationService.class)
+public class AggregationServiceTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private AggregationService aggregationService;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+    }
+
+    @Test
+    void emptyDashboard_ShouldHaveZeroCounts_AndNoRates() {
+        DashboardDto dashboard = aggregationService.getDashboard(owner, 12);
+
+        assertEquals(0, dashboard.getTotal_applications());
+        dashboard.getStatus_counts().values().forEach(count -> assertEquals(0L, count));
+        assertTrue(dashboard.getApplications_per_week().isEmpty());
+        assertNull(dashboard.getApplied_to_interview_rate());
+        assertNull(dashboard.getMedian_days_to_first_response());
+    }
+
+    @Test
+    void statusCounts_AndFunnelRates() {
+        create("SAVED");
+        create("APPLIED");
+        create("APPLIED");
+        create("REJECTED");
+        create("INTERVIEW");
+        create("OFFER");
+        create("SAVED", testUsers.create());
+
+        DashboardDto dashboard = aggregationService.getDashboard(owner, 12);
+
+        // Assert: five applied (everything but SAVED), two reached an interview, one an offer
+
+        assertEquals(6, dashboard.getTotal_applications());
+        assertEquals(1L, dashboard.getStatus_counts().get(StatusEnum.SAVED));
+        assertEquals(2L, dashboard.getStatus_counts().get(StatusEnum.APPLIED));
+        assertEquals(0.4, dashboard.getApplied_to_interview_rate(), 1e-9);
+        assertEquals(0.5, dashboard.getInterview_to_offer_rate(), 1e-9);
+        assertEquals(0.2, dashboard.getApplied_to_offer_rate(), 1e-9);
+    }
+
+    @Test
+    void weeklyVolume_ShouldBucketByWeek_WithARunningTotal() {
+        // Midweek days, so the buckets are the same whether the database starts weeks on Sunday (H2) or Monday
+        LocalDate wednesday = LocalDate.now().with(TemporalAdjusters.previous(DayOfWeek.WEDNESDAY));
+        appliedOn(create("APPLIED"), wednesday.minusWeeks(2).atTime(9, 0));
+        appliedOn(create("APPLIED"), wednesday.minusWeeks(2).plusDays(1).atTime(18, 0));
+        appliedOn(create("APPLIED"), wednesday.atTime(9, 0));
+        appliedOn(create("APPLIED"), wednesday.minusWeeks(30).atTime(9, 0));
+        create("SAVED");
+
+        List<WeeklyApplicationsDto> weeks = aggregationService.getDashboard(owner, 12).getApplications_per_week();
+
+        // Assert: the application outside the window and the unapplied one are left out
+
+        assertEquals(2, weeks.size());
+        assertEquals(List.of(2L, 1L), weeks.stream().map(WeeklyApplicationsDto::getApplications).toList());
+        assertEquals(List.of(2L, 3L), weeks.stream().map(WeeklyApplicationsDto::getCumulative).toList());
+        assertEquals(weeks.get(0).getWeek_start().plusWeeks(2), weeks.get(1).getWeek_start());
+        assertFalse(weeks.get(1).getWeek_start().isAfter(wednesday));
+        assertTrue(weeks.get(1).getWeek_start().isAfter(wednesday.minusWeeks(1)));
+    }
+
+    @Test
+    void medianDaysToFirstResponse() {
+        LocalDateTime applied = LocalDateTime.now().minusDays(20);
+        respondedAfter(create("APPLIED"), applied, 2);
+        respondedAfter(create("APPLIED"), applied, 4);
+        respondedAfter(create("APPLIED"), applied, 10);
+        create("APPLIED");
+
+        assertEquals(4.0, aggregationService.getDashboard(owner, 12).getMedian_days_to_first_response(), 1e-6);
+    }
+
+    @Test
+    void anApplicationCreatedAlreadyAnswered_ShouldCountAsARespondedOne() {
+        JobApplicationEntity created = jobApplicationRepository.findById(create("INTERVIEW")).orElseThrow();
+
+        assertNotNull(created.getFirst_response_at());
+        assertEquals(created.getApplication_date(), created.getFirst_response_at());
+        assertEquals(0.0, aggregationService.getDashboard(owner, 12).getMedian_days_to_first_response(), 1e-6);
+    }
+
+    private UUID create(String status) {
+        return create(status, owner);
+    }
+
+    private UUID create(String status, AuthenticatedUser user) {
+        JobApplicationDto created = jobApplicationService.createApplication(
+                user, "Engineer", "Acme", "Remote", status, "https://example.org/job", null, null, null, null
+        );
+        return created.getId();
+    }
+
+    private void appliedOn(UUID id, LocalDateTime date) {
+        JobApplicationEntity application = jobApplicationRepository.findById(id).orElseThrow();
+        application.setApplication_date(date);
+        jobApplicationRepository.save(application);
+    }
+
+    private void respondedAfter(UUID id, LocalDateTime applied, int days) {
+        JobApplicationEntity application = jobApplicationRepository.findById(id).orElseThrow();
+        application.setApplication_date(applied);
+        application.setFirst_response_at(applied.plusDays(days));
+        jobApplicationRepository.save(application);
+    }
+}
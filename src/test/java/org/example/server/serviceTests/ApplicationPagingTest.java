@@ -0,0 +1,198 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.exceptions.job_application.NoApplicationsFound;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ServiceSliceTest
+public class ApplicationPagingTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+    }
+
+    @Test
+    void walkingTheCursor_ShouldReturnEveryApplicationOnce_NewestFirst() {
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(create("Acme " + i, "APPLIED").getId());
+        }
+        create("Someone else's", "APPLIED", testUsers.create());
+
+        // Act: pages of three until there is no next cursor
+
+        List<JobApplicationDto> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            ApplicationPageDto page = jobApplicationService.getJobApplications(owner, null, cursor, 3);
+            seen.addAll(page.getItems());
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNext_cursor();
+        } while (cursor != null);
+
+        // Assert: no gaps, no duplicates, only the owner's rows, and the last page has no cursor
+
+        assertEquals(List.of(3, 3, 1), pageSizes);
+        Set<UUID> ids = new HashSet<>();
+        seen.forEach(dto -> assertTrue(ids.add(dto.getId()), "returned twice: " + dto.getId()));
+        assertEquals(new HashSet<>(created), ids);
+
+        List<JobApplicationEntity> ordered = jobApplicationRepository.findAllById(ids).stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getUpdated_at().compareTo(a.getUpdated_at());
+                    return byTime != 0 ? byTime : b.getId().compareTo(a.getId());
+                })
+                .toList();
+        assertEquals(ordered.stream().map(JobApplicationEntity::getId).toList(), seen.stream().map(JobApplicationDto::getId).toList());
+    }
+
+    @Test
+    void anExactFullPage_ShouldNotHandOutACursor() {
+        create("Acme", "APPLIED");
+        create("Acme", "APPLIED");
+
+        ApplicationPageDto page = jobApplicationService.getJobApplications(owner, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNext_cursor());
+    }
+
+    @Test
+    void filters_ShouldCombine_AndCarryAcrossPages() {
+        create("Acme Corp", "APPLIED");
+        create("ACME Labs", "APPLIED");
+        create("Acme Corp", "INTERVIEW");
+        create("Globex", "APPLIED");
+        create("Initech", "SAVED");
+
+        ApplicationFilterDto filter = new ApplicationFilterDto(StatusEnum.APPLIED, "acme", null, null);
+
+        ApplicationPageDto first = jobApplicationService.getJobApplications(owner, filter, null, 1);
+        ApplicationPageDto second = jobApplicationService.getJobApplications(owner, filter, first.getNext_cursor(), 1);
+
+        // Assert: company matches case-insensitively on a substring, status narrows it down
+
+        assertNotNull(first.getNext_cursor());
+        assertNull(second.getNext_cursor());
+        List<JobApplicationDto> matched = new ArrayList<>(first.getItems());
+        matched.addAll(second.getItems());
+        assertEquals(Set.of("Acme Corp", "ACME Labs"), Set.copyOf(matched.stream().map(JobApplicationDto::getCompany_name).toList()));
+        matched.forEach(dto -> assertEquals(StatusEnum.APPLIED, dto.getStatus()));
+    }
+
+    @Test
+    void companyFilter_ShouldTreatLikeWildcardsLiterally() {
+        create("100% Remote", "APPLIED");
+        create("1000 Remote", "APPLIED");
+
+        ApplicationFilterDto filter = new ApplicationFilterDto(null, "100%", null, null);
+
+        List<JobApplicationDto> items = jobApplicationService.getJobApplications(owner, filter, null, 10).getItems();
+
+        assertEquals(List.of("100% Remote"), items.stream().map(JobApplicationDto::getCompany_name).toList());
+    }
+
+    @Test
+    void dateFilter_ShouldIncludeBothBounds() {
+        UUID before = applyOn(create("Before", "APPLIED").getId(), LocalDate.of(2024, 2, 29));
+        UUID first = applyOn(create("First", "APPLIED").getId(), LocalDate.of(2024, 3, 1));
+        UUID last = applyOn(create("Last", "APPLIED").getId(), LocalDate.of(2024, 3, 31));
+        UUID after = applyOn(create("After", "APPLIED").getId(), LocalDate.of(2024, 4, 1));
+        create("Never applied", "SAVED");
+
+        ApplicationFilterDto filter = new ApplicationFilterDto(null, null, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        Set<UUID> ids = new HashSet<>();
+        jobApplicationService.getJobApplications(owner, filter, null, 10).getItems().forEach(dto -> ids.add(dto.getId()));
+
+        assertEquals(Set.of(first, last), ids);
+        assertFalse(ids.contains(before));
+        assertFalse(ids.contains(after));
+    }
+
+    @Test
+    void limit_ShouldBeClampedToAtLeastOne() {
+        create("Acme", "APPLIED");
+        create("Acme", "APPLIED");
+
+        ApplicationPageDto page = jobApplicationService.getJobApplications(owner, null, null, 0);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNext_cursor());
+    }
+
+    @Test
+    void aTamperedCursor_ShouldBeABadRequest() {
+        create("Acme", "APPLIED");
+        String noSeparator = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-03-01T10:00".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("not base64 !", noSeparator)) {
+            ApplicationException thrown = assertThrows(ApplicationException.class,
+                    () -> jobApplicationService.getJobApplications(owner, null, cursor, 10));
+            assertEquals(HttpStatus.BAD_REQUEST, thrown.getHttpStatus());
+        }
+    }
+
+    @Test
+    void noApplications_ShouldBeReportedBeforeTheCursorIsRead() {
+        assertThrows(NoApplicationsFound.class, () -> jobApplicationService.getJobApplications(owner, null, "garbage", 10));
+    }
+
+    private JobApplicationDto create(String companyName, String status) {
+        return create(companyName, status, owner);
+    }
+
+    private JobApplicationDto create(String companyName, String status, AuthenticatedUser user) {
+        return jobApplicationService.createApplication(
+                user, "Engineer", companyName, "Remote", status, "https://example.org/job", null, null, null, null
+        );
+    }
+
+    private UUID applyOn(UUID id, LocalDate date) {
+        JobApplicationEntity application = jobApplicationRepository.findById(id).orElseThrow();
+        application.setApplication_date(date.atTime(23, 59));
+        jobApplicationRepository.save(application);
+        return id;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.server.serviceTests;
+
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.StoredDocument;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.etags.Versioned;
+import org.example.server.exceptions.job_application.ApplicationVersionMismatch;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ServiceSliceTest
+public class ApplicationVersionTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    @MockitoBean
+    private ServiceMetrics serviceMetrics;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+    }
+
+    @Test
+    void shouldAnswerNotModified_UntilTheApplicationChanges() {
+        String id = createApplication().getId().toString();
+        Versioned<JobApplicationDto> first = jobApplicationService.getJobApplication(id, owner, null);
+
+        // Act
+
+        Versioned<JobApplicationDto> unchanged = jobApplicationService.getJobApplication(id, owner, first.eTag());
+        update(id, null);
+        Versioned<JobApplicationDto> changed = jobApplicationService.getJobApplication(id, owner, first.eTag());
+
+        // Assert
+
+        assertTrue(unchanged.isNotModified());
+        assertEquals(first.eTag(), unchanged.eTag());
+        assertFalse(changed.isNotModified());
+        assertNotEquals(first.eTag(), changed.eTag());
+        assertEquals("Staff Engineer", changed.body().getJob_title());
+    }
+
+    @Test
+    void shouldChangeTheCollectionETag_OnEveryWrite() {
+        String empty = jobApplicationService.getCollectionETag(owner);
+
+        String id = createApplication().getId().toString();
+        String created = jobApplicationService.getCollectionETag(owner);
+        update(id, null);
+        String updated = jobApplicationService.getCollectionETag(owner);
+        jobApplicationService.deleteApplication(id, owner);
+        String deleted = jobApplicationService.getCollectionETag(owner);
+
+        assertNotEquals(empty, created);
+        assertNotEquals(created, updated);
+        assertNotEquals(updated, deleted);
+        assertEquals(deleted, jobApplicationService.getCollectionETag(owner));
+    }
+
+    @Test
+    void shouldRejectUpdate_WhenIfMatchNamesAnOlderVersion() {
+        JobApplicationDto created = createApplication();
+        String id = created.getId().toString();
+        String staleETag = "\"" + created.getVersion() + "\"";
+        JobApplicationDto updated = update(id, staleETag);
+
+        // Act & Assert
+
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertThrows(ApplicationVersionMismatch.class, () -> update(id, staleETag));
+        assertEquals(updated.getVersion(), jobApplicationRepository.findById(created.getId()).orElseThrow().getVersion());
+        assertNotNull(update(id, "\"" + updated.getVersion() + "\""));
+    }
+
+    @Test
+    void shouldSkipTheWrite_WhenNothingDiffers() {
+        String key = StoredDocument.keyFor(owner.id(), "c".repeat(64), DocumentType.PDF);
+        StoredDocument resume = new StoredDocument(key, "c".repeat(64), DocumentType.PDF, 15, false);
+        when(documentService.finalizeUpload(owner, key)).thenReturn(resume);
+        when(documentService.storeAll(eq(owner), anyMap(), anyMap())).thenReturn(Map.of("resume", resume));
+
+        JobApplicationDto created = jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", null, null, key, null
+        );
+        String collectionETag = jobApplicationService.getCollectionETag(owner);
+        MockMultipartFile sameResume = new MockMultipartFile("resume_file", "resume.pdf", "application/pdf", "%PDF-1.7 resume".getBytes());
+
+        // Act: the same fields again, plus a file whose content is the attached resume
+
+        JobApplicationDto result = jobApplicationService.updateApplication(
+                created.getId().toString(), owner, "Engineer", "Acme", null, "APPLIED", null, sameResume, null, null, null, null);
+
+        // Assert
+
+        assertEquals(created.getVersion(), result.getVersion());
+        assertEquals(created.getVersion(), jobApplicationRepository.findById(created.getId()).orElseThrow().getVersion());
+        assertEquals(collectionETag, jobApplicationService.getCollectionETag(owner));
+        verify(documentService).storeAll(eq(owner), anyMap(), eq(Map.of("resume", key)));
+        verify(documentService, times(1)).addReference(any());
+        verify(documentService, never()).removeReference(any());
+    }
+
+    private JobApplicationDto createApplication() {
+        return jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", null, null, null, null
+        );
+    }
+
+    private JobApplicationDto update(String id, String ifMatch) {
+        return jobApplicationService.updateApplication(
+                id, owner, "Staff Engineer", null, null, "INTERVIEW", null, null, null, null, null, ifMatch);
+    }
+}
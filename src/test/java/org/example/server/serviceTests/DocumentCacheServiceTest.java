@@ -0,0 +1,192 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.documents.DocumentDownload;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.services.DocumentCacheService;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DocumentCacheServiceTest {
+
+    private static final String CONTENT_KEY = "documents/" + "a".repeat(64) + ".pdf";
+
+    private static final String LEGACY_KEY = "resumes/resume.pdf";
+
+    @TempDir
+    private Path directory;
+
+    private FakeS3Client s3Client;
+
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = new FakeS3Client();
+        s3Service = new S3Service(s3Client, null, null, null, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Service, "bucketName", "documents");
+    }
+
+    @Test
+    void shouldServeFromDisk_WhenDocumentWasDownloadedBefore() throws IOException {
+        s3Client.put(CONTENT_KEY, bytes("%PDF-1.7 hello"), "application/pdf");
+        DocumentCacheService cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+        // Act
+
+        String first = read(cache.openDownload(CONTENT_KEY, null, null, null));
+        String second = read(cache.openDownload(CONTENT_KEY, null, null, null));
+
+        // Assert
+
+        assertEquals("%PDF-1.7 hello", first);
+        assertEquals(first, second);
+        assertEquals(1, s3Client.bodyGets());
+    }
+
+    @Test
+    void shouldServeRangeAndNotModified_FromTheCachedFile() throws IOException {
+        s3Client.put(CONTENT_KEY, bytes("%PDF-1.7 hello"), "application/pdf");
+        DocumentCacheService cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        DocumentDownload full = cache.openDownload(CONTENT_KEY, null, null, null);
+        read(full);
+
+        // Act
+
+        DocumentDownload partial = cache.openDownload(CONTENT_KEY, "bytes=9-13", null, null);
+        DocumentDownload notModified = cache.openDownload(CONTENT_KEY, null, full.eTag(), null);
+
+        // Assert
+
+        assertEquals("bytes 9-13/14", partial.contentRange());
+        assertEquals(5L, partial.contentLength());
+        assertEquals("hello", read(partial));
+        assertTrue(notModified.notModified());
+        assertEquals(1, s3Client.bodyGets());
+    }
+
+    @Test
+    void shouldStillSendTheBody_WhenTheCopyIsEvictedBeforeItIsWritten() throws IOException {
+        s3Client.put(CONTENT_KEY, bytes("%PDF-1.7 hello"), "application/pdf");
+        DocumentCacheService cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        DocumentDownload partial = cache.openDownload(CONTENT_KEY, "bytes=9-13", null, null);
+
+        // Act: the file is deleted between the headers & the body
+
+        cache.evict(CONTENT_KEY);
+
+        // Assert: the file is only opened now, so the copy is fetched again
+
+        assertEquals("hello", read(partial));
+        assertEquals(2, s3Client.bodyGets());
+    }
+
+    @Test
+    void shouldFetchOnce_WhenConcurrentRequestsMissTheSameKey() throws Exception {
+        s3Client.put(CONTENT_KEY, bytes("%PDF-1.7 slow"), "application/pdf");
+        DocumentCacheService cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+        CountDownLatch release = new CountDownLatch(1);
+        s3Client.beforeBodyGet(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> reads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            reads.add(executor.submit(() -> read(cache.openDownload(CONTENT_KEY, null, null, null))));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+
+        for (Future<String> read : reads) {
+            assertEquals("%PDF-1.7 slow", read.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, s3Client.bodyGets());
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldEvictAndDeleteFiles_WhenOverTheByteBudget() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            s3Client.put("documents/" + i, new byte[400], "application/pdf");
+        }
+        DocumentCacheService cache = cache(DataSize.ofBytes(1000), Duration.ofMinutes(1));
+
+        // Act
+
+        for (int i = 0; i < 4; i++) {
+            read(cache.openDownload("documents/" + i, null, null, null));
+        }
+
+        // Assert: at most two 400 byte documents fit in 1000 bytes
+
+        long cachedBytes;
+        try (var files = Files.list(directory)) {
+            cachedBytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        assertTrue(cachedBytes <= 1000, "cached " + cachedBytes + " bytes");
+    }
+
+    @Test
+    void shouldRevalidateAgainstETag_WhenKeyIsNotContentAddressed() throws IOException {
+        s3Client.put(LEGACY_KEY, bytes("%PDF-1.7 v1"), "application/pdf");
+        DocumentCacheService cache = cache(DataSize.ofMegabytes(1), Duration.ZERO);
+        read(cache.openDownload(LEGACY_KEY, null, null, null));
+
+        // Act: unchanged, then changed
+
+        String unchanged = read(cache.openDownload(LEGACY_KEY, null, null, null));
+        s3Client.put(LEGACY_KEY, bytes("%PDF-1.7 v2"), "application/pdf");
+        String changed = read(cache.openDownload(LEGACY_KEY, null, null, null));
+
+        // Assert
+
+        assertEquals("%PDF-1.7 v1", unchanged);
+        assertEquals("%PDF-1.7 v2", changed);
+        assertEquals(2, s3Client.conditionalGets());
+        assertEquals(2, s3Client.bodyGets());
+    }
+
+    private DocumentCacheService cache(DataSize maxSize, Duration revalidateAfter) {
+        return new DocumentCacheService(s3Service, true, directory, maxSize, revalidateAfter);
+    }
+
+    private static String read(DocumentDownload download) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        download.body().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.controllers.JobApplicationController;
+import org.example.server.exception_handlers.GlobalExceptionHandler;
+import org.example.server.exceptions.job_application.ForbiddenApplicationAccess;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.security.CurrentUserArgumentResolver;
+import org.example.server.services.DocumentCacheService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.S3Service;
+import org.example.server.services.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// GET /applications/{id}/documents/{document}/content, down to the bytes: the key comes from an
+// application the caller owns, and the body is streamed through the disk cache.
+public class DocumentDownloadControllerTest {
+
+    private static final String AUTH0_ID = "auth0|download";
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), AUTH0_ID, "download@example.org", "Download Test");
+
+    private static final String APPLICATION_ID = UUID.randomUUID().toString();
+
+    private static final String KEY = "documents/" + USER.id() + "/" + "e".repeat(64) + ".pdf";
+
+    private static final String CONTENT_URL = "/applications/{id}/documents/{document}/content";
+
+    @TempDir
+    private Path directory;
+
+    private JobApplicationService jobApplicationService;
+
+    private FakeS3Client s3Client;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = new FakeS3Client();
+        s3Client.put(KEY, "%PDF-1.7 resume".getBytes(StandardCharsets.UTF_8), "application/pdf");
+        S3Service s3Service = new S3Service(s3Client, null, null, null, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Service, "bucketName", "documents");
+        DocumentCacheService documentCacheService = new DocumentCacheService(
+                s3Service, true, directory, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+        jobApplicationService = mock(JobApplicationService.class);
+        when(jobApplicationService.getDocumentKey(APPLICATION_ID, USER, "resume")).thenReturn(KEY);
+
+        UserLookupService userLookupService = mock(UserLookupService.class);
+        when(userLookupService.resolve(AUTH0_ID)).thenReturn(USER);
+
+        JobApplicationController controller = new JobApplicationController(
+                jobApplicationService, null, null, null, null, documentCacheService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new CurrentUserArgumentResolver(userLookupService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void theOwner_ShouldGetTheWholeDocument() throws Exception {
+        MvcResult started = mockMvc.perform(get(CONTENT_URL, APPLICATION_ID, "resume").principal(() -> AUTH0_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "15"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + "e".repeat(64) + ".pdf\""))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().string("%PDF-1.7 resume"));
+    }
+
+    @Test
+    void aRange_ShouldBePartialContent_AndACurrentETag_NotModified() throws Exception {
+        MvcResult started = mockMvc.perform(get(CONTENT_URL, APPLICATION_ID, "resume")
+                        .principal(() -> AUTH0_ID)
+                        .header(HttpHeaders.RANGE, "bytes=9-"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-14/15"))
+                .andExpect(content().string("resume"));
+
+        String eTag = started.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(CONTENT_URL, APPLICATION_ID, "resume")
+                        .principal(() -> AUTH0_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // Assert: the object was fetched once, the rest came from the disk copy
+        assertEquals(1, s3Client.bodyGets());
+    }
+
+    @Test
+    void someoneElsesApplication_ShouldBeForbidden_WithoutTouchingS3() throws Exception {
+        String foreignId = UUID.randomUUID().toString();
+        when(jobApplicationService.getDocumentKey(foreignId, USER, "resume"))
+                .thenThrow(new ForbiddenApplicationAccess("Application access has been denied"));
+
+        mockMvc.perform(get(CONTENT_URL, foreignId, "resume").principal(() -> AUTH0_ID))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0, s3Client.bodyGets());
+    }
+
+    @Test
+    void anAnonymousRequest_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(get(CONTENT_URL, APPLICATION_ID, "resume"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(jobApplicationService);
+    }
+}
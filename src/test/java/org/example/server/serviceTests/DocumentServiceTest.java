@@ -0,0 +1,113 @@
+package org.example.server.serviceTests;
+
+import org.example.server.documents.DocumentUpload;
+import org.example.server.documents.StoredDocument;
+import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.repositories.DocumentRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentServiceTest {
+
+    // SHA-256 of "%PDF-1.7 resume"
+    private static final String RESUME_SHA256 = "aaf354d498ab70917dd2e845ecd7822d7419a2ac9a48873480dd4422af92ac57";
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), "auth0|documents", "documents@example.org", "Documents Test");
+
+    @InjectMocks
+    private DocumentService documentService;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Test
+    void shouldSkipUpload_WhenContentIsAlreadyStored() {
+        MockMultipartFile resume = pdf("resume.pdf", "%PDF-1.7 resume");
+
+        when(s3Service.exists(anyString())).thenReturn(true);
+
+        // Act
+
+        StoredDocument stored = documentService.storeAll(USER, Map.of("resume", resume)).get("resume");
+
+        // Assert
+
+        assertFalse(stored.uploaded());
+        assertEquals("documents/" + USER.id() + "/" + RESUME_SHA256 + ".pdf", stored.key());
+        verify(s3Service, times(1)).uploadFiles(List.of());
+    }
+
+    @Test
+    void shouldUploadOnce_WhenSameContentIsAttachedTwice() {
+        Map<String, MockMultipartFile> files = new LinkedHashMap<>();
+        files.put("resume", pdf("resume.pdf", "%PDF-1.7 same"));
+        files.put("cover_letter", pdf("copy-of-resume.pdf", "%PDF-1.7 same"));
+
+        when(s3Service.exists(anyString())).thenReturn(false);
+
+        // Act
+
+        Map<String, StoredDocument> stored = documentService.storeAll(USER, new LinkedHashMap<>(files));
+
+        // Assert: both point at one object, and only one PUT was made for it
+
+        assertEquals(stored.get("resume").key(), stored.get("cover_letter").key());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DocumentUpload>> uploads = ArgumentCaptor.forClass(List.class);
+        verify(s3Service).uploadFiles(uploads.capture());
+        assertEquals(1, uploads.getValue().size());
+        assertEquals(stored.get("resume").key(), uploads.getValue().get(0).key());
+    }
+
+    @Test
+    void shouldSkipTheExistenceCheck_WhenContentIsTheAttachedDocument() {
+        MockMultipartFile resume = pdf("resume.pdf", "%PDF-1.7 resume");
+        String attachedKey = "documents/" + USER.id() + "/" + RESUME_SHA256 + ".pdf";
+
+        // Act
+
+        StoredDocument stored = documentService.storeAll(USER, Map.of("resume", resume), Map.of("resume", attachedKey)).get("resume");
+
+        // Assert
+
+        assertEquals(attachedKey, stored.key());
+        assertFalse(stored.uploaded());
+        verify(s3Service, never()).exists(anyString());
+        verify(s3Service).uploadFiles(List.of());
+    }
+
+    @Test
+    void shouldRejectFile_WhenContentDoesNotMatchExtension() {
+        MockMultipartFile fake = pdf("resume.pdf", "just some text");
+
+        assertThrows(FileNotValid.class, () -> documentService.storeAll(USER, Map.of("resume", fake)));
+
+        verify(s3Service, never()).uploadFiles(any());
+    }
+
+    private MockMultipartFile pdf(String name, String content) {
+        return new MockMultipartFile(name, name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
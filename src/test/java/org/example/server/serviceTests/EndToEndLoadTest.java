@@ -0,0 +1,366 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.dtos.PresignedUrlDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots the whole app on a random port, with local stand-ins for everything it normally talks to:
+// H2 in Postgres mode migrated by Flyway, in-memory S3 clients that answer after a set latency, and
+// a local RS256 issuer in place of Auth0. Concurrent clients then drive a fixed mix of create, list,
+// update & download requests over HTTP, and the latency percentiles & throughput per endpoint are
+// printed at the end.
+//
+// Run with: mvn test -Pload-test -Dtest=EndToEndLoadTest
+// Tunable with -Dload.clients, -Dload.requests (per client), -Dload.s3-latency-ms & -Dload.seed
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:load-test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.show-sql=false",
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri=" + LocalJwtIssuer.ISSUER,
+                "cloud.aws.credentials.access-key=load-test",
+                "cloud.aws.credentials.secret-key=load-test",
+                "cloud.aws.region.static=us-east-1",
+                "aws.bucket.name=load-test"
+        }
+)
+public class EndToEndLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 100);
+
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 20;
+
+    private static final Duration S3_LATENCY = Duration.ofMillis(Long.getLong("load.s3-latency-ms", 50));
+
+    private static final long SEED = Long.getLong("load.seed", 42);
+
+    private static final String[] STATUSES = {"APPLIED", "INTERVIEW", "OFFER", "REJECTED"};
+
+    // Relative weights of each kind of request in the mix
+    private enum Endpoint {
+        CREATE("POST /applications", 15),
+        LIST("GET /applications", 40),
+        UPDATE("PATCH /applications/{id}", 20),
+        DOCUMENT_URL("GET /applications/{id}/documents/{document}", 10),
+        DOWNLOAD("GET /applications/{id}/documents/{document}/content", 15);
+
+        private final String label;
+
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(endpoint -> endpoint.weight).sum();
+
+        static Endpoint pick(Random random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Endpoint endpoint : values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    @TestConfiguration
+    static class LocalStandIns {
+
+        @Bean
+        @Primary
+        FakeS3Client fakeS3Client() {
+            FakeS3Client s3Client = new FakeS3Client();
+            s3Client.beforeBodyGet(() -> sleep(S3_LATENCY));
+            s3Client.beforeHead(() -> sleep(S3_LATENCY));
+            return s3Client;
+        }
+
+        @Bean
+        @Primary
+        FakeS3AsyncClient fakeS3AsyncClient(FakeS3Client fakeS3Client) {
+            return new FakeS3AsyncClient(fakeS3Client, S3_LATENCY);
+        }
+
+        @Bean
+        LocalJwtIssuer localJwtIssuer() {
+            return new LocalJwtIssuer();
+        }
+
+        @Bean
+        JwtDecoder jwtDecoder(LocalJwtIssuer localJwtIssuer) {
+            return localJwtIssuer.decoder();
+        }
+    }
+
+    @DynamicPropertySource
+    static void documentCache(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("load-test-documents").toString();
+        registry.add("documents.cache.directory", () -> directory);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LocalJwtIssuer jwtIssuer;
+
+    private RestClient restClient;
+
+    private final Map<Endpoint, List<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final Map<Endpoint, AtomicInteger> errors = new ConcurrentHashMap<>();
+
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        restClient = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .requestFactory(new JdkClientHttpRequestFactory())
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ArrayList<>());
+            errors.put(endpoint, new AtomicInteger());
+        }
+    }
+
+    @Test
+    void shouldServeTheMixedTraffic_WithoutErrors() throws Exception {
+
+        // Arrange: one signed-up user per client, each with an application to work on
+
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(new Client(i));
+        }
+        runAll(clients, Client::signUp);
+
+        // Act: warm up the JIT, pools & caches, then measure
+
+        runAll(clients, client -> client.send(WARMUP_REQUESTS_PER_CLIENT, false));
+        long start = System.nanoTime();
+        runAll(clients, client -> client.send(REQUESTS_PER_CLIENT, true));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert
+
+        System.out.println(report(seconds));
+        errors.forEach((endpoint, count) -> assertEquals(0, count.get(), endpoint.label + " failed, first error: " + firstError.get()));
+        latencies.forEach((endpoint, samples) -> assertFalse(samples.isEmpty(), endpoint.label + " was never called"));
+    }
+
+    private interface ClientTask {
+        void run(Client client);
+    }
+
+    private void runAll(List<Client> clients, ClientTask task) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (Client client : clients) {
+                running.add(executor.submit(() -> task.run(client)));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+    }
+
+    // One user sending requests one after the other, like a browser tab would.
+    private class Client {
+
+        private final Random random;
+
+        private final String subject;
+
+        private final String token;
+
+        private final List<JobApplicationDto> applications = new ArrayList<>();
+
+        private int documents;
+
+        Client(int index) {
+            this.random = new Random(SEED + index);
+            this.subject = "auth0|load-test-" + index + "-" + UUID.randomUUID();
+            this.token = jwtIssuer.sign(subject);
+        }
+
+        void signUp() {
+            restClient.post()
+                    .uri("/user")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("email", UUID.randomUUID() + "@example.org", "name", subject))
+                    .retrieve()
+                    .toBodilessEntity();
+            applications.add(create());
+        }
+
+        void send(int requests, boolean record) {
+            for (int i = 0; i < requests; i++) {
+                Endpoint endpoint = Endpoint.pick(random);
+                long start = System.nanoTime();
+                try {
+                    call(endpoint);
+                } catch (RestClientException e) {
+                    errors.get(endpoint).incrementAndGet();
+                    firstError.compareAndSet(null, endpoint.label + ": " + e.getMessage());
+                    continue;
+                }
+                if (record) {
+                    long elapsed = System.nanoTime() - start;
+                    List<Long> samples = latencies.get(endpoint);
+                    synchronized (samples) {
+                        samples.add(elapsed);
+                    }
+                }
+            }
+        }
+
+        private void call(Endpoint endpoint) {
+            switch (endpoint) {
+                case CREATE -> applications.add(create());
+                case LIST -> restClient.get()
+                        .uri("/applications?limit=20")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .retrieve()
+                        .body(JobApplicationDto[].class);
+                case UPDATE -> update();
+                case DOCUMENT_URL -> restClient.get()
+                        .uri("/applications/{id}/documents/resume", someApplication().getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .retrieve()
+                        .body(PresignedUrlDto.class);
+                // The user's own resume, through the owner check & the download cache
+                case DOWNLOAD -> restClient.get()
+                        .uri("/applications/{id}/documents/resume/content", someApplication().getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .retrieve()
+                        .body(byte[].class);
+            }
+        }
+
+        // Every resume is new content, so each create hashes, checks & uploads a document.
+        private JobApplicationDto create() {
+            MultipartBodyBuilder form = new MultipartBodyBuilder();
+            form.part("job_title", "Engineer " + random.nextInt(20));
+            form.part("company_name", "Company " + random.nextInt(200));
+            form.part("location", "Remote");
+            form.part("status", STATUSES[random.nextInt(STATUSES.length)]);
+            form.part("job_post_url", "https://jobs.example.org/" + random.nextInt(100_000));
+            form.part("resume_file", pdf(subject + "-" + documents++))
+                    .filename("resume.pdf")
+                    .contentType(MediaType.APPLICATION_PDF);
+
+            return send(() -> restClient.post().uri("/applications"), form);
+        }
+
+        private void update() {
+            JobApplicationDto application = someApplication();
+            MultipartBodyBuilder form = new MultipartBodyBuilder();
+            form.part("status", STATUSES[random.nextInt(STATUSES.length)]);
+            form.part("job_title", "Engineer " + random.nextInt(20));
+
+            JobApplicationDto updated = send(() -> restClient.patch().uri("/applications/{id}", application.getId()), form);
+            applications.set(applications.indexOf(application), updated);
+        }
+
+        private JobApplicationDto send(Supplier<RestClient.RequestBodySpec> request, MultipartBodyBuilder form) {
+            return request.get()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(form.build())
+                    .retrieve()
+                    .body(JobApplicationDto.class);
+        }
+
+        private JobApplicationDto someApplication() {
+            return applications.get(random.nextInt(applications.size()));
+        }
+    }
+
+    private String report(double seconds) {
+        StringBuilder report = new StringBuilder(String.format(
+                "%nEnd-to-end load: %d clients, %d requests each, S3 latency %dms, %.1fs%n%-56s %8s %8s %10s %10s %10s%n",
+                CLIENTS, REQUESTS_PER_CLIENT, S3_LATENCY.toMillis(), seconds, "endpoint", "requests", "errors", "p50 ms", "p99 ms", "req/s"));
+
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            long[] sorted = latencies.get(endpoint).stream().mapToLong(Long::longValue).sorted().toArray();
+            total += sorted.length;
+            report.append(String.format("%-56s %8d %8d %10.1f %10.1f %10.1f%n",
+                    endpoint.label, sorted.length, errors.get(endpoint).get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.length / seconds));
+        }
+        report.append(String.format("%-56s %8d %8s %10s %10s %10.1f%n", "total", total, "", "", "", total / seconds));
+        return report.toString();
+    }
+
+    // Nearest-rank percentile, in milliseconds.
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    // Just enough of a PDF to get through the upload checks, different for every @seed.
+    private static byte[] pdf(String seed) {
+        return ("%PDF-1.7\n% " + seed + "\n%%EOF\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.server.serviceTests;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.ExportService;
+import org.example.server.services.ExportService.Format;
+import org.example.server.services.JobApplicationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ServiceSliceTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+public class ExportServiceTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneApplicationPerLine_OnlyTheOwners() throws IOException {
+        UUID first = create("Engineer", "Acme").getId();
+        UUID second = create("Designer", "Globex").getId();
+        jobApplicationService.createApplication(testUsers.create(), "Other", "Initech", "Remote", "APPLIED", "https://example.org/job", null, null, null, null);
+
+        String body = export(Format.NDJSON);
+
+        // Assert: every line is a complete document, the stream ends with a newline
+
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+
+        try (MappingIterator<JobApplicationDto> rows = objectMapper.readerFor(JobApplicationDto.class).readValues(body)) {
+            List<JobApplicationDto> exported = rows.readAll();
+            assertEquals(Set.of(first, second), Set.copyOf(exported.stream().map(JobApplicationDto::getId).toList()));
+        }
+    }
+
+    @Test
+    void csv_ShouldWriteTheHeader_AndQuoteWhatNeedsQuoting() {
+        UUID id = create("Engineer, \"Platform\"", "Acme\nLabs").getId();
+
+        String body = export(Format.CSV);
+
+        // Assert: CRLF rows, embedded quotes doubled, commas & newlines kept inside one quoted field
+
+        assertTrue(body.startsWith("id,job_title,company_name,location,status,job_post_url,"
+                + "resume_url,cover_letter_url,application_date,updated_at\r\n"));
+        assertTrue(body.endsWith("\r\n"));
+        String row = body.substring(body.indexOf("\r\n") + 2);
+        assertTrue(row.startsWith(id + ",\"Engineer, \"\"Platform\"\"\",\"Acme\nLabs\",Remote,APPLIED,https://example.org/job,,,"), row);
+        assertEquals(2, body.split("\r\n").length);
+    }
+
+    @Test
+    void noApplications_ShouldStillWriteTheCsvHeader() {
+        String csv = export(Format.CSV);
+        String ndjson = export(Format.NDJSON);
+
+        assertEquals("id,job_title,company_name,location,status,job_post_url,"
+                + "resume_url,cover_letter_url,application_date,updated_at\r\n", csv);
+        assertEquals("", ndjson);
+    }
+
+    @Test
+    void format_ShouldBeChosenByExtension() {
+        assertEquals(Format.CSV, Format.fromParam("CSV"));
+        assertEquals(Format.NDJSON, Format.fromParam("ndjson"));
+        assertEquals("applications.csv", Format.CSV.getFilename());
+        assertThrows(ApplicationException.class, () -> Format.fromParam("xlsx"));
+    }
+
+    private String export(Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exportService.exportApplications(owner, format).writeTo(out);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private JobApplicationDto create(String jobTitle, String companyName) {
+        return jobApplicationService.createApplication(
+                owner, jobTitle, companyName, "Remote", "APPLIED", "https://example.org/job", null, null, null, null
+        );
+    }
+}
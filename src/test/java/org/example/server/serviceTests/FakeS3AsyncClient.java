@@ -0,0 +1,89 @@
+package org.example.server.serviceTests;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// In-memory stand-in for the uploads & deletes S3Service sends through the async client. Objects land
+// in @store, so they can be downloaded through the FakeS3Client afterwards. Every call completes
+// @latency after the body has been read, like a round trip to S3 would.
+public class FakeS3AsyncClient implements S3AsyncClient {
+
+    private final FakeS3Client store;
+
+    private final Duration latency;
+
+    public FakeS3AsyncClient(FakeS3Client store, Duration latency) {
+        this.store = store;
+        this.latency = latency;
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+        CompletableFuture<byte[]> content = new CompletableFuture<>();
+        body.subscribe(new Subscriber<>() {
+
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                bytes.writeBytes(chunk);
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                content.completeExceptionally(failure);
+            }
+
+            @Override
+            public void onComplete() {
+                content.complete(bytes.toByteArray());
+            }
+        });
+
+        return content.thenApplyAsync(bytes -> {
+            store.put(request.key(), bytes, request.contentType());
+            return PutObjectResponse.builder().checksumSHA256(request.checksumSHA256()).build();
+        }, delayed());
+    }
+
+    @Override
+    public CompletableFuture<DeleteObjectResponse> deleteObject(DeleteObjectRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            store.remove(request.key());
+            return DeleteObjectResponse.builder().build();
+        }, delayed());
+    }
+
+    private Executor delayed() {
+        return CompletableFuture.delayedExecutor(latency.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
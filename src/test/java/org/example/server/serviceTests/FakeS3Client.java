@@ -0,0 +1,125 @@
+package org.example.server.serviceTests;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory stand-in for the bits of S3 the services read from: GET (with If-None-Match) & HEAD.
+// FakeS3AsyncClient writes into the same store.
+public class FakeS3Client implements S3Client {
+
+    private record StoredObject(byte[] content, String eTag, String contentType) {
+    }
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+
+    private final AtomicInteger bodyGets = new AtomicInteger();
+
+    private final AtomicInteger conditionalGets = new AtomicInteger();
+
+    private volatile Runnable beforeBodyGet = () -> {};
+
+    private volatile Runnable beforeHead = () -> {};
+
+    public void put(String key, byte[] content, String contentType) {
+        objects.put(key, new StoredObject(content, "\"" + Integer.toHexString(Arrays.hashCode(content)) + "\"", contentType));
+    }
+
+    public void remove(String key) {
+        objects.remove(key);
+    }
+
+    public Set<String> keys() {
+        return Set.copyOf(objects.keySet());
+    }
+
+    // GETs that returned a body, i.e. actual downloads.
+    public int bodyGets() {
+        return bodyGets.get();
+    }
+
+    // GETs sent with If-None-Match, whatever they returned.
+    public int conditionalGets() {
+        return conditionalGets.get();
+    }
+
+    // Runs on the requesting thread before each body is returned, to make downloads slow.
+    public void beforeBodyGet(Runnable hook) {
+        this.beforeBodyGet = hook;
+    }
+
+    // Runs on the requesting thread before each HEAD, i.e. every existence check.
+    public void beforeHead(Runnable hook) {
+        this.beforeHead = hook;
+    }
+
+    @Override
+    public <ReturnT> ReturnT getObject(GetObjectRequest request, ResponseTransformer<GetObjectResponse, ReturnT> transformer) {
+        StoredObject object = objects.get(request.key());
+        if (object == null) {
+            throw NoSuchKeyException.builder().statusCode(404).message("No such key").build();
+        }
+        if (request.ifNoneMatch() != null) {
+            conditionalGets.incrementAndGet();
+            if (request.ifNoneMatch().equals(object.eTag())) {
+                throw S3Exception.builder().statusCode(304).message("Not Modified").build();
+            }
+        }
+
+        beforeBodyGet.run();
+        bodyGets.incrementAndGet();
+
+        GetObjectResponse response = GetObjectResponse.builder()
+                .eTag(object.eTag())
+                .contentLength((long) object.content().length)
+                .contentType(object.contentType())
+                .build();
+        try {
+            return transformer.transform(response, AbortableInputStream.create(new ByteArrayInputStream(object.content())));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        beforeHead.run();
+        StoredObject object = objects.get(request.key());
+        if (object == null) {
+            throw NoSuchKeyException.builder().statusCode(404).message("No such key").build();
+        }
+        return HeadObjectResponse.builder()
+                .eTag(object.eTag())
+                .contentLength((long) object.content().length)
+                .contentType(object.contentType())
+                .build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
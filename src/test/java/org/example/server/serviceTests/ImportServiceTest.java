@@ -0,0 +1,175 @@
+package org.example.server.serviceTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.server.configs.ImportConfig;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.UserEntity;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.ImportService;
+import org.example.server.services.UserSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ImportService.class, ImportConfig.class, UserSummaryService.class})
+@TestPropertySource(properties = {"import.batch-size=2", "import.queue-capacity=2"})
+public class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity();
+        user.setAuth0_id("auth0|" + UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Import Test");
+        user = userRepository.save(user);
+        owner = new AuthenticatedUser(user.getId(), user.getAuth0_id(), user.getEmail(), user.getName());
+    }
+
+    @Test
+    void shouldImportValidRows_AndReportEachRejectedLine() throws IOException {
+        String csv = """
+                company_name,job_title,status,job_post_url,application_date,location
+                Acme,Engineer,APPLIED,https://example.org/1,2024-03-01,Remote
+                "Globex, Inc.",Designer,interview,https://example.org/2,03/15/2024,"Berlin
+                Germany"
+                Initech,Analyst,UNKNOWN,https://example.org/3,,
+                Umbrella,,SAVED,https://example.org/4,,
+                Hooli,Developer,SAVED,https://example.org/5,,
+                """;
+
+        // Act
+
+        List<JsonNode> events = runImport(csv);
+
+        // Assert
+
+        List<JsonNode> errors = events.stream().filter(event -> event.get("type").asText().equals("error")).toList();
+        assertEquals(2, errors.size());
+        assertEquals(5, errors.get(0).get("line").asLong());
+        assertTrue(errors.get(0).get("error").asText().contains("Invalid status"));
+        assertEquals(6, errors.get(1).get("line").asLong());
+        assertTrue(errors.get(1).get("error").asText().contains("job_title"));
+
+        JsonNode done = events.get(events.size() - 1);
+        assertEquals("done", done.get("type").asText());
+        assertEquals(5, done.get("processed").asLong());
+        assertEquals(3, done.get("imported").asLong());
+        assertEquals(2, done.get("failed").asLong());
+        assertTrue(events.stream().anyMatch(event -> event.get("type").asText().equals("progress")));
+
+        List<JobApplicationEntity> imported = jobApplicationRepository.findAll().stream()
+                .filter(application -> application.getUser().getId().equals(owner.id()))
+                .toList();
+        assertEquals(3, imported.size());
+        assertEquals(3, userSummaryService.getSummary(owner.id()).getTotal_applications());
+
+        // Dates are stamped like a create: an imported interview was answered on its application date
+        JobApplicationEntity interview = imported.stream()
+                .filter(application -> application.getCompany_name().equals("Globex, Inc.")).findFirst().orElseThrow();
+        assertEquals(LocalDate.of(2024, 3, 15).atStartOfDay(), interview.getFirst_response_at());
+        JobApplicationEntity saved = imported.stream()
+                .filter(application -> application.getCompany_name().equals("Hooli")).findFirst().orElseThrow();
+        assertNull(saved.getApplication_date());
+        assertNull(saved.getFirst_response_at());
+    }
+
+    @Test
+    void shouldStreamManyRowsThroughTheBoundedQueue() throws IOException {
+        StringBuilder csv = new StringBuilder("job_title,company_name,status,job_post_url\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("Engineer ").append(i % 10).append(",Acme,APPLIED,https://example.org/").append(i).append('\n');
+        }
+
+        // Act
+
+        List<JsonNode> events = runImport(csv.toString());
+
+        // Assert
+
+        JsonNode done = events.get(events.size() - 1);
+        assertEquals(250, done.get("imported").asLong());
+        assertEquals(0, done.get("failed").asLong());
+        assertEquals(250, userSummaryService.getSummary(owner.id()).getApplied_count());
+    }
+
+    @Test
+    void aBatchTheDatabaseRejects_ShouldBeReportedWithoutTheDriversMessage() throws IOException {
+        String csv = "job_title,company_name,status,job_post_url,location\n"
+                + "Engineer,Acme,APPLIED,https://example.org/1,Remote\n"
+                + "Designer,Globex,APPLIED,https://example.org/2," + "x".repeat(300) + "\n";
+
+        List<JsonNode> events = runImport(csv);
+
+        // Assert: both rows of the rolled back batch are reported, with no SQL or table names
+
+        List<JsonNode> errors = events.stream().filter(event -> event.get("type").asText().equals("error")).toList();
+        assertEquals(List.of(2L, 3L), errors.stream().map(error -> error.get("line").asLong()).toList());
+        errors.forEach(error -> assertEquals("Could not be saved: a value is too long or not allowed", error.get("error").asText()));
+        assertEquals(0, events.get(events.size() - 1).get("imported").asLong());
+    }
+
+    @Test
+    void shouldRejectImport_WhenRequiredColumnsAreMissing() throws IOException {
+        List<JsonNode> events = runImport("job_title,company_name\nEngineer,Acme\n");
+
+        assertEquals("error", events.get(0).get("type").asText());
+        assertEquals("Missing columns: job_post_url, status", events.get(0).get("error").asText());
+        assertEquals(0, events.get(events.size() - 1).get("imported").asLong());
+    }
+
+    private List<JsonNode> runImport(String csv) throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "applications.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.importApplications(owner, file).writeTo(out);
+
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                events.add(objectMapper.readTree(line));
+            }
+        }
+        return events;
+    }
+}
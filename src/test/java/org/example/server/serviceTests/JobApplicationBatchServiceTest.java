@@ -0,0 +1,177 @@
+package org.example.server.serviceTests;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.server.dtos.BatchOperationDto;
+import org.example.server.dtos.BatchOperationDto.Op;
+import org.example.server.dtos.BatchResponseDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationBatchService;
+import org.example.server.services.UserSummaryService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ServiceSliceTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(JobApplicationBatchService.class)
+public class JobApplicationBatchServiceTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JobApplicationBatchService jobApplicationBatchService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldReportEachItem_WhenSomeOperationsFail() {
+        List<BatchOperationDto> operations = List.of(
+                create("Engineer", "APPLIED"),
+                create("Designer", "NOT_A_STATUS"),
+                new BatchOperationDto(Op.DELETE, UUID.randomUUID().toString(), null, null, null, null, null),
+                create("Analyst", "SAVED")
+        );
+
+        // Act
+
+        BatchResponseDto response = jobApplicationBatchService.applyBatch(owner, operations);
+
+        // Assert
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertNotNull(response.getResults().get(0).getApplication().getId());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals(404, response.getResults().get(2).getStatus());
+        assertEquals(201, response.getResults().get(3).getStatus());
+        assertEquals(2, userSummaryService.getSummary(owner.id()).getTotal_applications());
+    }
+
+    @Test
+    void shouldApplyUpdatesAndDeletes_AndRejectOtherUsersApplications() {
+        BatchResponseDto created = jobApplicationBatchService.applyBatch(owner, List.of(
+                create("Engineer", "APPLIED"),
+                create("Designer", "APPLIED")
+        ));
+        String updatedId = created.getResults().get(0).getId();
+        String deletedId = created.getResults().get(1).getId();
+        AuthenticatedUser stranger = testUsers.create();
+
+        // Act
+
+        BatchResponseDto foreign = jobApplicationBatchService.applyBatch(stranger, List.of(
+                new BatchOperationDto(Op.DELETE, updatedId, null, null, null, null, null)
+        ));
+        BatchResponseDto response = jobApplicationBatchService.applyBatch(owner, List.of(
+                new BatchOperationDto(Op.UPDATE, updatedId, "Staff Engineer", null, null, "INTERVIEW", null),
+                new BatchOperationDto(Op.DELETE, deletedId, null, null, null, null, null)
+        ));
+
+        // Assert
+
+        assertEquals(403, foreign.getResults().get(0).getStatus());
+        assertEquals(2, response.getSucceeded());
+        assertEquals("Staff Engineer", jobApplicationRepository.findById(UUID.fromString(updatedId)).orElseThrow().getJob_title());
+        assertTrue(jobApplicationRepository.findById(UUID.fromString(deletedId)).isEmpty());
+
+        var summary = userSummaryService.getSummary(owner.id());
+        assertEquals(1, summary.getTotal_applications());
+        assertEquals(1, summary.getInterview_count());
+        assertEquals(0, summary.getApplied_count());
+    }
+
+    @Test
+    void shouldStampTheDates_LikeASingleCreate() {
+        BatchResponseDto response = jobApplicationBatchService.applyBatch(owner, List.of(
+                create("Engineer", "INTERVIEW"),
+                create("Designer", "SAVED")
+        ));
+
+        JobApplicationEntity interview = jobApplicationRepository.findById(response.getResults().get(0).getApplication().getId()).orElseThrow();
+        JobApplicationEntity saved = jobApplicationRepository.findById(response.getResults().get(1).getApplication().getId()).orElseThrow();
+        assertNotNull(interview.getApplication_date());
+        assertEquals(interview.getApplication_date(), interview.getFirst_response_at());
+        assertNull(saved.getApplication_date());
+        assertNull(saved.getFirst_response_at());
+    }
+
+    @Test
+    void shouldLeaveTheCollectionVersion_WhenNothingWasWritten() {
+        BatchResponseDto created = jobApplicationBatchService.applyBatch(owner, List.of(create("Engineer", "APPLIED")));
+        String id = created.getResults().get(0).getId();
+        long version = userSummaryService.getSummary(owner.id()).getCollection_version();
+
+        // Act: an update that changes nothing and a create that fails
+
+        BatchResponseDto response = jobApplicationBatchService.applyBatch(owner, List.of(
+                new BatchOperationDto(Op.UPDATE, id, "Engineer", "Acme", null, "APPLIED", null),
+                create("Designer", "NOT_A_STATUS")
+        ));
+
+        // Assert
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(version, userSummaryService.getSummary(owner.id()).getCollection_version());
+    }
+
+    @Test
+    void shouldSendInsertsAsOneBatch_WhenCreatingManyApplications() {
+        List<BatchOperationDto> operations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            operations.add(create("Engineer " + i, "APPLIED"));
+        }
+
+        // Act
+
+        BatchResponseDto response = jobApplicationBatchService.applyBatch(owner, operations);
+
+        // Assert: 40 rows, but only a handful of statements were prepared
+
+        assertEquals(40, response.getSucceeded());
+        assertEquals(40, statistics.getEntityStatistics(JobApplicationEntity.class.getName()).getInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private BatchOperationDto create(String title, String status) {
+        return new BatchOperationDto(Op.CREATE, null, title, "Acme", "Remote", status, "https://example.org/job");
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.StatusEnum;
+import org.example.server.exceptions.job_application.ApplicationNotFound;
+import org.example.server.exceptions.job_application.ForbiddenApplicationAccess;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.UserSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ServiceSliceTest
+public class OwnershipTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    private AuthenticatedUser stranger;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+        stranger = testUsers.create();
+    }
+
+    @Test
+    void lookup_ShouldReturnTheOwnersApplication() {
+        String id = create().getId().toString();
+
+        assertEquals(id, jobApplicationService.getOwnedJobApplication(id, owner).getId().toString());
+    }
+
+    @Test
+    void lookup_ShouldTellForbiddenFromMissing() {
+        String id = create().getId().toString();
+
+        assertThrows(ForbiddenApplicationAccess.class, () -> jobApplicationService.getJobApplication(id, stranger));
+        assertThrows(ApplicationNotFound.class, () -> jobApplicationService.getJobApplication(UUID.randomUUID().toString(), owner));
+        assertThrows(ApplicationNotFound.class, () -> jobApplicationService.getJobApplication("not-a-uuid", owner));
+    }
+
+    @Test
+    void documentUrl_ShouldNotBeSignedForAnotherUser() {
+        String id = create().getId().toString();
+
+        assertThrows(ForbiddenApplicationAccess.class, () -> jobApplicationService.getDocumentUrl(id, stranger, "resume"));
+        verify(documentService, never()).createDownloadUrl(anyString());
+    }
+
+    @Test
+    void delete_ShouldRemoveTheRow_AndCountIt() {
+        String id = create().getId().toString();
+
+        jobApplicationService.deleteApplication(id, owner);
+
+        assertFalse(jobApplicationRepository.existsById(UUID.fromString(id)));
+        assertEquals(0, userSummaryService.getSummary(owner.id()).getTotal_applications());
+        assertThrows(ApplicationNotFound.class, () -> jobApplicationService.deleteApplication(id, owner));
+    }
+
+    @Test
+    void delete_ByAnotherUser_ShouldLeaveEverythingAsItWas() {
+        String id = create().getId().toString();
+
+        assertThrows(ForbiddenApplicationAccess.class, () -> jobApplicationService.deleteApplication(id, stranger));
+
+        assertTrue(jobApplicationRepository.existsById(UUID.fromString(id)));
+        assertEquals(1, userSummaryService.getSummary(owner.id()).getTotal_applications());
+        assertEquals(0, userSummaryService.getSummary(stranger.id()).getTotal_applications());
+        verify(documentService, never()).removeReference(any());
+    }
+
+    @Test
+    void update_ByAnotherUser_ShouldNotChangeTheRow() {
+        JobApplicationDto created = create();
+        String id = created.getId().toString();
+
+        assertThrows(ForbiddenApplicationAccess.class, () -> jobApplicationService.updateApplication(
+                id, stranger, "Taken over", null, null, "OFFER", null, null, null, null, null, null));
+
+        JobApplicationDto current = jobApplicationService.getJobApplication(id, owner);
+        assertEquals("Engineer", current.getJob_title());
+        assertEquals(StatusEnum.APPLIED, current.getStatus());
+        assertEquals(created.getVersion(), current.getVersion());
+    }
+
+    private JobApplicationDto create() {
+        return jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", null, null, null, null
+        );
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.StoredDocument;
+import org.example.server.dtos.PresignedUrlDto;
+import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.repositories.DocumentRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Signs with a real S3Presigner (nothing is sent, signing is local) and checks what ends up in the
+// URL, then the finalize step against object metadata from a mocked S3Client.
+public class PresignedUrlTest {
+
+    // SHA-256 of "%PDF-1.7 resume"
+    private static final String RESUME_SHA256 = "aaf354d498ab70917dd2e845ecd7822d7419a2ac9a48873480dd4422af92ac57";
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), "auth0|presign", "presign@example.org", "Presign Test");
+
+    private static final String RESUME_KEY = "documents/" + USER.id() + "/" + RESUME_SHA256 + ".pdf";
+
+    private static final String RESUME_CHECKSUM = Base64.getEncoder().encodeToString(HexFormat.of().parseHex(RESUME_SHA256));
+
+    private S3Presigner s3Presigner;
+
+    private S3Client s3Client;
+
+    private DocumentRepository documentRepository;
+
+    private DocumentService documentService;
+
+    @BeforeEach
+    void setUp() {
+        s3Presigner = S3Presigner.builder()
+                .region(Region.EU_WEST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("AKIDEXAMPLE", "secret")))
+                .build();
+        s3Client = mock(S3Client.class);
+        documentRepository = mock(DocumentRepository.class);
+
+        S3Service s3Service = new S3Service(s3Client, null, null, s3Presigner, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Service, "bucketName", "documents-bucket");
+
+        documentService = new DocumentService(s3Service, documentRepository);
+        ReflectionTestUtils.setField(documentService, "uploadTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(documentService, "downloadTtl", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Presigner.close();
+    }
+
+    // Handing out URLs:
+
+    @Test
+    void anUploadUrl_ShouldSignTheTypeLengthAndChecksum() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().statusCode(404).build());
+
+        PresignedUrlDto url = documentService.createUploadUrl(USER, "resume.pdf", 15, RESUME_SHA256.toUpperCase());
+
+        // Assert: a PUT for the content address, valid for the upload TTL
+
+        assertTrue(url.isUpload_required());
+        assertEquals("PUT", url.getMethod());
+        assertEquals(RESUME_KEY, url.getKey());
+        UriComponents uri = UriComponentsBuilder.fromUriString(url.getUrl()).build();
+        assertTrue(uri.getHost().startsWith("documents-bucket."), uri.getHost());
+        assertTrue(uri.getPath().endsWith("/" + RESUME_KEY), uri.getPath());
+        assertEquals("600", uri.getQueryParams().getFirst("X-Amz-Expires"));
+        assertNotNull(uri.getQueryParams().getFirst("X-Amz-Signature"));
+        assertTrue(url.getExpires_at().isAfter(Instant.now().plus(Duration.ofMinutes(9))));
+
+        // The client has to send these exactly, they are in the signature; the host header is its own
+        String signed = uri.getQueryParams().getFirst("X-Amz-SignedHeaders");
+        for (String header : new String[]{"content-type", "content-length", "x-amz-checksum-sha256"}) {
+            assertTrue(signed.contains(header), signed);
+        }
+        assertEquals("application/pdf", headerValue(url, "content-type"));
+        assertEquals("15", headerValue(url, "content-length"));
+        assertEquals(RESUME_CHECKSUM, headerValue(url, "x-amz-checksum-sha256"));
+        assertNull(headerValue(url, "host"));
+    }
+
+    @Test
+    void anUploadUrl_ShouldNotBeIssued_WhenTheUserAlreadyStoredTheContent() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder().build());
+
+        PresignedUrlDto url = documentService.createUploadUrl(USER, "resume.pdf", 15, RESUME_SHA256);
+
+        assertFalse(url.isUpload_required());
+        assertEquals(RESUME_KEY, url.getKey());
+        assertNull(url.getUrl());
+        assertNull(url.getMethod());
+
+        // Only the user's own prefix was checked
+        ArgumentCaptor<HeadObjectRequest> head = ArgumentCaptor.forClass(HeadObjectRequest.class);
+        verify(s3Client).headObject(head.capture());
+        assertEquals(RESUME_KEY, head.getValue().key());
+    }
+
+    @Test
+    void anUploadUrl_ShouldBeRefused_ForABadDeclaration() {
+        assertThrows(FileNotValid.class, () -> documentService.createUploadUrl(USER, "resume.exe", 15, RESUME_SHA256));
+        assertThrows(FileNotValid.class, () -> documentService.createUploadUrl(USER, "resume.pdf", 0, RESUME_SHA256));
+        assertThrows(FileNotValid.class, () -> documentService.createUploadUrl(USER, "resume.pdf", DocumentType.MAX_SIZE_BYTES + 1, RESUME_SHA256));
+        assertThrows(FileNotValid.class, () -> documentService.createUploadUrl(USER, "resume.pdf", 15, "not-a-hash"));
+        assertThrows(FileNotValid.class, () -> documentService.createUploadUrl(USER, "resume.pdf", 15, null));
+
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void aDownloadUrl_ShouldBeAnInlineGet_ForTheDownloadTtl() {
+        PresignedUrlDto url = documentService.createDownloadUrl(RESUME_KEY);
+
+        assertEquals("GET", url.getMethod());
+        assertFalse(url.isUpload_required());
+        UriComponents uri = UriComponentsBuilder.fromUriString(url.getUrl()).build();
+        assertTrue(uri.getPath().endsWith("/" + RESUME_KEY), uri.getPath());
+        assertEquals("300", uri.getQueryParams().getFirst("X-Amz-Expires"));
+        String disposition = UriComponentsBuilder.fromUriString(url.getUrl()).build(true)
+                .getQueryParams().getFirst("response-content-disposition");
+        assertEquals("inline; filename=\"" + RESUME_SHA256 + ".pdf\"", URLDecoder.decode(disposition, StandardCharsets.UTF_8));
+    }
+
+    // Finalizing a browser upload:
+
+    @Test
+    void finalize_ShouldAcceptAnObjectMatchingItsKey() {
+        uploaded(15L, "application/pdf", RESUME_CHECKSUM, "%PDF-1.7 resume");
+
+        StoredDocument stored = documentService.finalizeUpload(USER, RESUME_KEY);
+
+        assertEquals(new StoredDocument(RESUME_KEY, RESUME_SHA256, DocumentType.PDF, 15, false), stored);
+    }
+
+    @Test
+    void finalize_ShouldRejectKeysThatAreNotTheUsersContentAddresses() {
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, null));
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, "documents/" + RESUME_SHA256 + ".pdf"));
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, "resumes/" + USER.id() + "/" + RESUME_SHA256 + ".pdf"));
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, "documents/" + USER.id() + "/" + RESUME_SHA256 + ".exe"));
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, "documents/" + USER.id() + "/" + RESUME_SHA256.substring(1) + ".pdf"));
+
+        // Another user's document, even one that exists, cannot be claimed by knowing its hash
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, "documents/" + UUID.randomUUID() + "/" + RESUME_SHA256 + ".pdf"));
+
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void finalize_ShouldRejectAnObjectThatDoesNotMatchItsKey() {
+        uploaded(0L, "application/pdf", RESUME_CHECKSUM, "%PDF-1.7 resume");
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, RESUME_KEY));
+
+        uploaded(15L, "text/plain", RESUME_CHECKSUM, "%PDF-1.7 resume");
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, RESUME_KEY));
+
+        uploaded(15L, "application/pdf", null, "%PDF-1.7 resume");
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, RESUME_KEY));
+
+        // Right metadata, but the bytes are not a PDF
+        uploaded(15L, "application/pdf", RESUME_CHECKSUM, "PK\u0003\u0004 resume");
+        assertThrows(FileNotValid.class, () -> documentService.finalizeUpload(USER, RESUME_KEY));
+    }
+
+    private void uploaded(long size, String contentType, String checksum, String leadingBytes) {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(size)
+                .contentType(contentType)
+                .checksumSHA256(checksum)
+                .build());
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).thenReturn(
+                ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), leadingBytes.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    private static String headerValue(PresignedUrlDto url, String name) {
+        return url.getHeaders().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.server.dtos.ApplicationFilterDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.dtos.UserDto;
+import org.example.server.entities.StatusEnum;
+import org.example.server.exceptions.user.UserAlreadyExistsException;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.S3Service;
+import org.example.server.services.UserLookupService;
+import org.example.server.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pins how many statements each service method sends with a cold second-level cache. A change that
+// adds a query (a lazy association touched while mapping, a per-row lookup) fails here; one that
+// removes a query should lower the budget along with it. Documents go through the real
+// DocumentService against the in-memory S3, so their reference counting is part of the budget.
+@ServiceSliceTest(properties = "aws.bucket.name=documents")
+@Import({DocumentService.class, QueryBudgetTest.FakeS3.class})
+public class QueryBudgetTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @TestConfiguration
+    static class FakeS3 {
+
+        @Bean
+        S3Service s3Service() {
+            FakeS3Client store = new FakeS3Client();
+            S3Presigner presigner = S3Presigner.builder()
+                    .region(Region.EU_WEST_1)
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("AKIDEXAMPLE", "secret")))
+                    .build();
+            return new S3Service(store, new FakeS3AsyncClient(store, Duration.ZERO), Executors.newVirtualThreadPerTaskExecutor(),
+                    presigner, new ServiceMetrics(new SimpleMeterRegistry()));
+        }
+    }
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        owner = testUsers.create();
+    }
+
+    @Test
+    void listing_ShouldNotGrowWithThePageSize() {
+        createApplications(3);
+        long small = queryCounter.count(() -> jobApplicationService.getJobApplications(owner, null, null, 50));
+        createApplications(27);
+        long large = queryCounter.count(() -> jobApplicationService.getJobApplications(owner, null, null, 50));
+
+        // Assert: the summary row, then one page query; the owner is never loaded while mapping
+
+        assertEquals(small, large);
+        queryCounter.assertStatements(2, () -> jobApplicationService.getJobApplications(owner, null, null, 50));
+    }
+
+    @Test
+    void listing_WithAFilterAndCursor() {
+        createApplications(5);
+        String cursor = jobApplicationService.getJobApplications(owner, null, null, 2).getNext_cursor();
+        ApplicationFilterDto filter = new ApplicationFilterDto(StatusEnum.APPLIED, "Acme", null, null);
+
+        queryCounter.assertStatements(2, () -> jobApplicationService.getJobApplications(owner, filter, cursor, 2));
+    }
+
+    @Test
+    void listing_AnsweringAPoll_AndServingThePage() {
+        createApplications(3);
+        String eTag = jobApplicationService.getCollectionETag(owner);
+
+        // Assert: the ETag & the empty check share one read of the summary row
+
+        queryCounter.assertStatements(1, () -> jobApplicationService.getJobApplications(owner, null, null, 50, eTag));
+        queryCounter.assertStatements(2, () -> jobApplicationService.getJobApplications(owner, null, null, 50, null));
+    }
+
+    @Test
+    void collectionETag() {
+        createApplications(1);
+
+        queryCounter.assertStatements(1, () -> jobApplicationService.getCollectionETag(owner));
+    }
+
+    @Test
+    void singleRead_WithAndWithoutAMatchingETag() {
+        String id = createApplications(1);
+        String eTag = jobApplicationService.getJobApplication(id, owner, null).eTag();
+
+        queryCounter.assertStatements(1, () -> jobApplicationService.getJobApplication(id, owner));
+        queryCounter.assertStatements(1, () -> jobApplicationService.getJobApplication(id, owner, eTag));
+        queryCounter.assertStatements(1, () -> jobApplicationService.getOwnedJobApplication(id, owner));
+    }
+
+    @Test
+    void create_WithAndWithoutADocument() {
+        // The insert and the summary counters, plus the document's reference upsert; the owner is
+        // only referenced, never selected
+
+        queryCounter.assertStatements(2, () -> createApplication(null));
+        queryCounter.assertStatements(3, () -> createApplication(pdf("%PDF-1.7 budget resume")));
+    }
+
+    @Test
+    void update_WhenFieldsChange_AndWhenNothingDiffers() {
+        String id = createApplications(1);
+
+        // Load, update & summary counters; the second update changes nothing and stops after the load
+
+        queryCounter.assertStatements(3, () -> update(id, "Staff Engineer"));
+        queryCounter.assertStatements(1, () -> update(id, "Staff Engineer"));
+    }
+
+    @Test
+    void update_ReplacingTheDocument() {
+        String id = createApplication(pdf("%PDF-1.7 budget resume")).getId().toString();
+
+        // Load, update, summary counters, the new document's reference & the old one's release
+
+        queryCounter.assertStatements(5, () -> replaceResume(id, pdf("%PDF-1.7 budget resume, revised")));
+    }
+
+    @Test
+    void documentUrl() {
+        String id = createApplication(pdf("%PDF-1.7 budget resume")).getId().toString();
+
+        queryCounter.assertStatements(1, () -> jobApplicationService.getDocumentUrl(id, owner, "resume"));
+    }
+
+    @Test
+    void delete() {
+        String id = createApplication(pdf("%PDF-1.7 budget resume")).getId().toString();
+
+        // The owner-scoped lookup, the delete, the summary counters & the document's release
+
+        queryCounter.assertStatements(4, () -> jobApplicationService.deleteApplication(id, owner));
+    }
+
+    @Test
+    void userSignUp_AndLookup() {
+        String auth = "auth0|" + UUID.randomUUID();
+        UserDto user = new UserDto();
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Budget Test");
+
+        // The existence check, the user insert & the summary row, inserted directly rather than
+        // merged. After that a cached lookup costs nothing.
+
+        queryCounter.assertStatements(3, () -> userService.createUser(auth, user));
+        queryCounter.assertStatements(1, () -> assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(auth, user)));
+        queryCounter.assertStatements(1, () -> userLookupService.resolve(auth));
+        queryCounter.assertStatements(0, () -> userLookupService.resolve(auth));
+    }
+
+    // Returns the id of the last one created.
+    private String createApplications(int count) {
+        String id = null;
+        for (int i = 0; i < count; i++) {
+            id = createApplication(null).getId().toString();
+        }
+        return id;
+    }
+
+    private JobApplicationDto createApplication(MultipartFile resume) {
+        return jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", resume, null, null, null
+        );
+    }
+
+    private JobApplicationDto update(String id, String jobTitle) {
+        return jobApplicationService.updateApplication(
+                id, owner, jobTitle, null, null, "INTERVIEW", null, null, null, null, null, null);
+    }
+
+    private JobApplicationDto replaceResume(String id, MultipartFile resume) {
+        return jobApplicationService.updateApplication(
+                id, owner, null, null, null, null, null, resume, null, null, null, null);
+    }
+
+    private static MockMultipartFile pdf(String content) {
+        return new MockMultipartFile("resume", "resume.pdf", "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.server.serviceTests;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Counts the JDBC statements a call sends, from Hibernate's statistics (generate_statistics is on
+// in application.yml). The second-level cache is emptied first, so a budget is what a cold call
+// costs and doesn't depend on which test happened to warm the cache.
+public class QueryCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "hibernate.generate_statistics must be on to count statements");
+    }
+
+    public long count(Runnable call) {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        call.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Fails with the breakdown Hibernate recorded, so a new lazy load or query shows up by name.
+    public void assertStatements(long budget, Runnable call) {
+        long statements = count(call);
+        assertEquals(budget, statements, this::describe);
+    }
+
+    private String describe() {
+        return "entity loads=" + statistics.getEntityLoadCount()
+                + " collection loads=" + statistics.getCollectionLoadCount()
+                + " inserts=" + statistics.getEntityInsertCount()
+                + " updates=" + statistics.getEntityUpdateCount()
+                + " deletes=" + statistics.getEntityDeleteCount()
+                + " queries=" + Arrays.toString(statistics.getQueries());
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.documents.DocumentDownload;
+import org.example.server.exceptions.file.FileNotFound;
+import org.example.server.exceptions.file.RangeNotSatisfiable;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.services.DocumentCacheService;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Range, If-None-Match & If-Range handling, both when the request is passed through to S3 and when
+// it is answered from the local disk cache.
+public class RangeRequestTest {
+
+    private static final String KEY = "documents/" + "b".repeat(64) + ".pdf";
+
+    private static final String ETAG = "\"v1\"";
+
+    @TempDir
+    private Path directory;
+
+    private S3Client s3Client;
+
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        s3Service = new S3Service(s3Client, null, null, null, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Service, "bucketName", "documents");
+    }
+
+    // Passed through to S3:
+
+    @Test
+    void aSingleRange_ShouldBeSentToS3() throws IOException {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(object("hello", "bytes 9-13/14"));
+
+        DocumentDownload download = s3Service.openDownload(KEY, "bytes=9-13", null, null);
+
+        assertEquals("bytes=9-13", sentRequests().get(0).range());
+        assertTrue(download.isPartial());
+        assertEquals("bytes 9-13/14", download.contentRange());
+        assertEquals("hello", read(download));
+    }
+
+    @Test
+    void multipleRanges_ShouldFetchTheWholeObject() {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(object("%PDF-1.7 hello", null));
+
+        s3Service.openDownload(KEY, "bytes=0-1,5-6", null, null);
+
+        assertNull(sentRequests().get(0).range());
+    }
+
+    @Test
+    void aStrongIfRange_ShouldOnlyGetTheRangeWhileTheETagMatches() throws IOException {
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(412).message("Precondition Failed").build())
+                .thenReturn(object("%PDF-1.7 hello", null));
+
+        DocumentDownload download = s3Service.openDownload(KEY, "bytes=9-13", null, "\"stale\"");
+
+        // Assert: asked for the range if-match, then fell back to the whole (changed) object
+
+        List<GetObjectRequest> requests = sentRequests();
+        assertEquals(2, requests.size());
+        assertEquals("bytes=9-13", requests.get(0).range());
+        assertEquals("\"stale\"", requests.get(0).ifMatch());
+        assertNull(requests.get(1).range());
+        assertNull(requests.get(1).ifMatch());
+        assertFalse(download.isPartial());
+        assertEquals("%PDF-1.7 hello", read(download));
+    }
+
+    @Test
+    void aWeakOrDateIfRange_ShouldFetchTheWholeObject() {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(object("%PDF-1.7 hello", null));
+
+        s3Service.openDownload(KEY, "bytes=9-13", null, "W/\"v1\"");
+        s3Service.openDownload(KEY, "bytes=9-13", null, "Wed, 21 Oct 2026 07:28:00 GMT");
+
+        for (GetObjectRequest request : sentRequests()) {
+            assertNull(request.range());
+            assertNull(request.ifMatch());
+        }
+    }
+
+    @Test
+    void s3Answers_ShouldMapToNotModified_RangeNotSatisfiable_AndNotFound() {
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(304).message("Not Modified").build())
+                .thenThrow(S3Exception.builder().statusCode(416).message("Range Not Satisfiable").build())
+                .thenThrow(NoSuchKeyException.builder().statusCode(404).message("No such key").build());
+
+        DocumentDownload notModified = s3Service.openDownload(KEY, null, ETAG, null);
+        assertTrue(notModified.notModified());
+        assertEquals(ETAG, notModified.eTag());
+        assertEquals(ETAG, sentRequests().get(0).ifNoneMatch());
+
+        assertThrows(RangeNotSatisfiable.class, () -> s3Service.openDownload(KEY, "bytes=100-", null, null));
+        assertThrows(FileNotFound.class, () -> s3Service.openDownload(KEY, null, null, null));
+    }
+
+    // Answered from the disk cache:
+
+    @Test
+    void cachedRanges_ShouldFollowTheRangeHeaderRules() throws IOException {
+        DocumentCacheService cache = cachedHello();
+
+        assertRange(cache.openDownload(KEY, "bytes=9-", null, null), "bytes 9-13/14", "hello");
+        assertRange(cache.openDownload(KEY, "bytes=-5", null, null), "bytes 9-13/14", "hello");
+        assertRange(cache.openDownload(KEY, "bytes=-100", null, null), "bytes 0-13/14", "%PDF-1.7 hello");
+        assertRange(cache.openDownload(KEY, "bytes=0-99", null, null), "bytes 0-13/14", "%PDF-1.7 hello");
+
+        // Malformed, multiple & reversed ranges are ignored and the whole document is sent
+        for (String range : List.of("bytes=5-2", "bytes=0-1,5-6", "items=0-1", "bytes=-")) {
+            DocumentDownload whole = cache.openDownload(KEY, range, null, null);
+            assertFalse(whole.isPartial(), range);
+            assertEquals("%PDF-1.7 hello", read(whole));
+        }
+
+        assertThrows(RangeNotSatisfiable.class, () -> cache.openDownload(KEY, "bytes=14-", null, null));
+        assertThrows(RangeNotSatisfiable.class, () -> cache.openDownload(KEY, "bytes=-0", null, null));
+    }
+
+    @Test
+    void cachedConditionals_ShouldCompareTheETag() throws IOException {
+        DocumentCacheService cache = cachedHello();
+
+        assertTrue(cache.openDownload(KEY, null, ETAG, null).notModified());
+        assertTrue(cache.openDownload(KEY, null, "\"other\", W/" + ETAG, null).notModified());
+        assertTrue(cache.openDownload(KEY, null, "*", null).notModified());
+        assertFalse(cache.openDownload(KEY, null, "\"other\"", null).notModified());
+
+        // If-Range: the range only while the client's copy is current, the whole document otherwise
+        assertRange(cache.openDownload(KEY, "bytes=9-13", null, ETAG), "bytes 9-13/14", "hello");
+        DocumentDownload changed = cache.openDownload(KEY, "bytes=9-13", null, "\"other\"");
+        assertFalse(changed.isPartial());
+        assertEquals(14L, changed.contentLength());
+        assertEquals("%PDF-1.7 hello", read(changed));
+    }
+
+    private DocumentCacheService cachedHello() throws IOException {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(object("%PDF-1.7 hello", null));
+        DocumentCacheService cache = new DocumentCacheService(s3Service, true, directory, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        read(cache.openDownload(KEY, null, null, null));
+        return cache;
+    }
+
+    private List<GetObjectRequest> sentRequests() {
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client, atLeastOnce()).getObject(requests.capture());
+        return requests.getAllValues();
+    }
+
+    private static ResponseInputStream<GetObjectResponse> object(String content, String contentRange) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        GetObjectResponse response = GetObjectResponse.builder()
+                .eTag(ETAG)
+                .contentLength((long) bytes.length)
+                .contentRange(contentRange)
+                .contentType("application/pdf")
+                .build();
+        return new ResponseInputStream<>(response, AbortableInputStream.create(new ByteArrayInputStream(bytes)));
+    }
+
+    private static void assertRange(DocumentDownload download, String contentRange, String body) throws IOException {
+        assertEquals(contentRange, download.contentRange());
+        assertEquals((long) body.length(), download.contentLength());
+        assertEquals(body, read(download));
+    }
+
+    private static String read(DocumentDownload download) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        download.body().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.server.serviceTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.server.configs.MetricsConfig;
+import org.example.server.metrics.RequestStatementsFilter;
+import org.example.server.metrics.SqlStatementCounter;
+import org.example.server.timing.RequestTimingFilter;
+import org.example.server.timing.RequestTimings;
+import org.example.server.timing.TimedJsonHttpMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class RequestTimingTest {
+
+    private final TimedJsonHttpMessageConverter converter = new TimedJsonHttpMessageConverter(new ObjectMapper(), true);
+
+    @Test
+    void shouldSendTheBreakdown_AndLogSlowRequests(CapturedOutput output) throws Exception {
+        RequestTimingFilter filter = new RequestTimingFilter(Duration.ZERO, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act: a request that spends time in the database, then writes JSON
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/applications"), response, (request, servletResponse) -> {
+            RequestTimings timings = RequestTimings.current();
+            long start = timings.enter(RequestTimings.Category.DB);
+            long nested = timings.enter(RequestTimings.Category.DB);
+            timings.exit(RequestTimings.Category.DB, nested);
+            timings.exit(RequestTimings.Category.DB, start);
+            write(Map.of("job_title", "Engineer"), (MockHttpServletResponse) servletResponse);
+        });
+
+        // Assert
+
+        String serverTiming = response.getHeader(TimedJsonHttpMessageConverter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("db;dur="), serverTiming);
+        assertTrue(serverTiming.contains(";desc=\"1 call, 0 statements\""), serverTiming);
+        assertTrue(serverTiming.contains("json;dur="), serverTiming);
+        assertFalse(serverTiming.contains("s3"), serverTiming);
+        assertEquals("{\"job_title\":\"Engineer\"}", response.getContentAsString());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        assertTrue(output.getOut().contains("slow_request method=GET path=/applications status=200"), output.getOut());
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void aStreamedBody_ShouldCountUntilTheResponseIsComplete(CapturedOutput output) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamingController())
+                .addFilters(new RequestStatementsFilter(registry), new RequestTimingFilter(Duration.ofMillis(250), true))
+                .build();
+
+        // Act: the handler returns at once, the body then takes 300ms to write
+
+        MvcResult started = mockMvc.perform(get("/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String beforeCompletion = output.getOut();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("streamed"));
+
+        // Assert: logged & recorded once, when the response completed, with the statement of the handler
+
+        assertFalse(beforeCompletion.contains("slow_request"), beforeCompletion);
+        assertTrue(output.getOut().contains("slow_request method=GET path=/stream status=200"), output.getOut());
+        DistributionSummary statements = registry.get("jobtracker.request.statements").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void queriesInAStreamedBody_ShouldCountTowardsTheRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AtomicReference<Supplier<Map<String, String>>> trailers = new AtomicReference<>();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamingController())
+                .addFilters(capturingTrailers(trailers), new RequestStatementsFilter(registry),
+                        new RequestTimingFilter(Duration.ofHours(1), true))
+                .build();
+
+        // The body runs on the MVC async executor, decorated the way Boot decorates the real one
+        SimpleAsyncTaskExecutor asyncExecutor = new SimpleAsyncTaskExecutor("mvc-async-");
+        asyncExecutor.setTaskDecorator(new MetricsConfig().requestTaskDecorator());
+        mockMvc.getDispatcherServlet().getWebApplicationContext()
+                .getBean(RequestMappingHandlerAdapter.class).setTaskExecutor(asyncExecutor);
+
+        // Act
+
+        MvcResult started = mockMvc.perform(get("/stream/queries"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2 rows"));
+
+        // Assert: the handler's statement & both of the body's, and the body's repository calls in the trailer
+
+        assertEquals(3, registry.get("jobtracker.request.statements").summary().totalAmount());
+        String serverTiming = trailers.get().get().get(TimedJsonHttpMessageConverter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("db;dur="), serverTiming);
+        assertTrue(serverTiming.contains(";desc=\"2 calls, 3 statements\""), serverTiming);
+    }
+
+    @Test
+    void shouldWriteJsonUntouched_OutsideATimedRequest() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        write(Map.of("job_title", "Engineer"), response);
+
+        assertNull(response.getHeader(TimedJsonHttpMessageConverter.SERVER_TIMING));
+        assertEquals("{\"job_title\":\"Engineer\"}", response.getContentAsString());
+    }
+
+    private void write(Object body, MockHttpServletResponse response) throws IOException {
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+        converter.write(body, MediaType.APPLICATION_JSON, outputMessage);
+        outputMessage.flush();
+    }
+
+    // MockHttpServletResponse ignores trailers, so catch them on the way in.
+    private static Filter capturingTrailers(AtomicReference<Supplier<Map<String, String>>> trailers) {
+        return (request, response, chain) -> chain.doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+            @Override
+            public void setTrailerFields(Supplier<Map<String, String>> supplier) {
+                trailers.set(supplier);
+            }
+        });
+    }
+
+    // What a repository call does to the request's counters: a DB call sending one statement.
+    private static void query() {
+        RequestTimings timings = RequestTimings.current();
+        long start = timings != null ? timings.enter(RequestTimings.Category.DB) : 0;
+        new SqlStatementCounter().inspect("select 1");
+        if (timings != null) {
+            timings.exit(RequestTimings.Category.DB, start);
+        }
+    }
+
+    @RestController
+    static class StreamingController {
+
+        @GetMapping("/stream/queries")
+        StreamingResponseBody streamQueries() {
+            new SqlStatementCounter().inspect("select 1");
+            return body -> {
+                query();
+                query();
+                body.write("2 rows".getBytes(StandardCharsets.UTF_8));
+            };
+        }
+
+        @GetMapping("/stream")
+        StreamingResponseBody stream() {
+            new SqlStatementCounter().inspect("select 1");
+            return body -> {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body.write("streamed".getBytes(StandardCharsets.UTF_8));
+            };
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.server.serviceTests;
+
+import org.example.server.entities.UserEntity;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the Flyway migrations against H2 as a stand-in for Postgres. The context only starts when
+// Hibernate's ddl-auto=validate accepts the migrated schema, so a mapping that drifts from the
+// migrations fails here.
+@DataJpaTest
+public class SchemaMigrationTest {
+
+    private static final String[] LOCATIONS = {"classpath:db/migration/common", "classpath:db/migration/h2"};
+
+    // What Hibernate 6 generated for UserEntity & JobApplicationEntity as they were before Flyway,
+    // with ddl-auto=update. Existing databases have exactly this, and nothing of the later tables.
+    private static final String DDL_AUTO_SCHEMA = """
+            create table users (created_at date not null, updated_at date not null, id uuid not null,
+                auth0_id varchar(255) not null unique, email varchar(255) not null unique, name varchar(255) not null,
+                primary key (id));
+            create table job_application (status tinyint not null check (status between 0 and 4),
+                application_date timestamp(6), created_at timestamp(6), updated_at timestamp(6) not null,
+                fk_id uuid, id uuid not null, company_name varchar(255) not null, cover_letter_url varchar(255),
+                job_post_url varchar(255) not null, job_title varchar(255) not null, location varchar(255),
+                resume_url varchar(255), primary key (id));
+            alter table if exists job_application add constraint FKq5n3l3gd1ohjbjyx0r1s1b2uf
+                foreign key (fk_id) references users;
+            """;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldApplyEveryMigration_AndCreateThePerUserIndexes() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertTrue(applied.length >= 3);
+        assertTrue(Arrays.stream(applied).allMatch(info -> info.getState() == MigrationState.SUCCESS));
+        assertEquals(0, flyway.info().pending().length);
+
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'JOB_APPLICATION'",
+                String.class
+        );
+        assertTrue(indexes.contains("IDX_JOB_APPLICATION_USER_STATUS"), indexes.toString());
+        assertTrue(indexes.contains("IDX_JOB_APPLICATION_USER_UPDATED"), indexes.toString());
+    }
+
+    @Test
+    void shouldBaselineExistingSchema_AndOnlyApplyLaterMigrations() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Arrange: the schema ddl-auto=update built from the original entities, with a user on it
+
+        jdbc.execute(DDL_AUTO_SCHEMA);
+        UUID userId = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, auth0_id, email, name, created_at, updated_at) VALUES (?, 'auth0|existing', 'existing@example.org', 'Existing', CURRENT_DATE, CURRENT_DATE)", userId);
+        jdbc.update("INSERT INTO job_application (id, fk_id, job_title, company_name, status, job_post_url, updated_at) VALUES (?, ?, 'Engineer', 'Acme', 1, 'https://example.org/job', CURRENT_TIMESTAMP)", UUID.randomUUID(), userId);
+
+        // Act
+
+        Flyway existing = Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATIONS)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        int migrations = existing.migrate().migrationsExecuted;
+
+        // Assert: V1 is only marked as the baseline, everything after it ran, the rows are still
+        //         there & the entities validate against the result
+
+        assertEquals(existing.info().applied().length - 1, migrations);
+        assertEquals(MigrationState.BASELINE, existing.info().applied()[0].getState());
+        assertEquals(0, existing.info().pending().length);
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM job_application WHERE fk_id = ?", Integer.class, userId));
+        assertDoesNotThrow(() -> validate(dataSource));
+    }
+
+    private static void validate(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(UserEntity.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                AvailableSettings.HBM2DDL_AUTO, "validate",
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, "false"
+        ));
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserEntity;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The search query itself, against a real Postgres with the search migration (tsvector column &
+// pg_trgm) applied by Flyway. Needs Docker, and is skipped where there is none.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SearchService.class, JobApplicationMapperImpl.class})
+public class SearchPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity user;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        user = new UserEntity();
+        user.setAuth0_id("auth0|" + UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Search Test");
+        user = userRepository.save(user);
+        owner = new AuthenticatedUser(user.getId(), user.getAuth0_id(), user.getEmail(), user.getName());
+    }
+
+    @Test
+    void results_ShouldBeRankedByHowWellTheyMatch() {
+        save(user, "Data Engineer", "Datadog", "New York");
+        save(user, "Backend Engineer", "Stripe", "Remote");
+        save(user, "Frontend Developer", "Shopify", "Toronto");
+
+        List<String> titles = titles(searchService.searchApplications(owner, "backend or engineer", null, null));
+
+        // Assert: matching both terms beats matching one, and the developer does not match at all
+        assertEquals(List.of("Backend Engineer", "Data Engineer"), titles);
+    }
+
+    @Test
+    void aMisspelledCompany_ShouldStillBeFound() {
+        save(user, "Frontend Developer", "Shopify", "Toronto");
+        save(user, "Backend Engineer", "Stripe", "Remote");
+
+        List<String> titles = titles(searchService.searchApplications(owner, "Shopfy", null, null));
+
+        assertEquals(List.of("Frontend Developer"), titles);
+    }
+
+    @Test
+    void otherUsersApplications_ShouldNeverMatch() {
+        UserEntity stranger = new UserEntity();
+        stranger.setAuth0_id("auth0|" + UUID.randomUUID());
+        stranger.setEmail(UUID.randomUUID() + "@example.org");
+        stranger.setName("Stranger");
+        stranger = userRepository.save(stranger);
+        save(stranger, "Platform Engineer", "Initech", "Remote");
+        save(user, "Platform Engineer", "Acme", "Remote");
+
+        ApplicationPageDto page = searchService.searchApplications(owner, "platform engineer", null, null);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Acme", page.getItems().get(0).getCompany_name());
+    }
+
+    @Test
+    void pages_ShouldCoverEveryMatchOnce() {
+        for (int i = 0; i < 25; i++) {
+            save(user, "Engineer " + i, "Acme", "Remote");
+        }
+        save(user, "Recruiter", "Hooli", "Berlin");
+
+        // Act
+
+        Set<UUID> seen = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            ApplicationPageDto page = searchService.searchApplications(owner, "engineer", cursor, 10);
+            page.getItems().forEach(application -> assertTrue(seen.add(application.getId()), "seen twice: " + application.getId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNext_cursor();
+        } while (cursor != null);
+
+        // Assert
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        assertEquals(25, seen.size());
+    }
+
+    private void save(UserEntity owner, String title, String company, String location) {
+        JobApplicationEntity application = new JobApplicationEntity();
+        application.setUser(owner);
+        application.setJob_title(title);
+        application.setCompany_name(company);
+        application.setLocation(location);
+        application.setStatus(StatusEnum.APPLIED);
+        application.setJob_post_url("https://example.org/job");
+        jobApplicationRepository.save(application);
+    }
+
+    private static List<String> titles(ApplicationPageDto page) {
+        return page.getItems().stream().map(JobApplicationDto::getJob_title).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.ApplicationPageDto;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Paging & validation around the search query. Matching & ranking are Postgres' job, see
+// SearchPostgresTest.
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), "auth0|search", "search@example.org", "Search Test");
+
+    @Mock
+    private JobApplicationRepository jobApplicationRepository;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(jobApplicationRepository, new JobApplicationMapperImpl());
+    }
+
+    @Test
+    void aFullPage_ShouldFetchOneExtraRow_AndPointAtTheNextOffset() {
+        when(jobApplicationRepository.search(USER.id(), "engineer", 0, 11)).thenReturn(applications(11));
+        when(jobApplicationRepository.search(USER.id(), "engineer", 10, 11)).thenReturn(applications(3));
+
+        ApplicationPageDto first = searchService.searchApplications(USER, "  engineer ", null, 10);
+        ApplicationPageDto last = searchService.searchApplications(USER, "engineer", first.getNext_cursor(), 10);
+
+        assertEquals(10, first.getItems().size());
+        assertEquals("10", decode(first.getNext_cursor()));
+        assertEquals(3, last.getItems().size());
+        assertNull(last.getNext_cursor());
+    }
+
+    @Test
+    void theLimit_ShouldDefaultAndBeClamped() {
+        when(jobApplicationRepository.search(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        searchService.searchApplications(USER, "acme", null, null);
+        searchService.searchApplications(USER, "acme", null, 0);
+        searchService.searchApplications(USER, "acme", null, 10_000);
+
+        verify(jobApplicationRepository).search(USER.id(), "acme", 0, 21);
+        verify(jobApplicationRepository).search(USER.id(), "acme", 0, 2);
+        verify(jobApplicationRepository).search(USER.id(), "acme", 0, 101);
+    }
+
+    @Test
+    void pages_ShouldStopAtTheOffsetCap() {
+        when(jobApplicationRepository.search(USER.id(), "acme", 900, 101)).thenReturn(applications(101));
+
+        ApplicationPageDto page = searchService.searchApplications(USER, "acme", encode("900"), 100);
+
+        assertEquals(100, page.getItems().size());
+        assertNull(page.getNext_cursor());
+    }
+
+    @Test
+    void badInput_ShouldBeABadRequest_WithoutQuerying() {
+        assertBadRequest(null, null);
+        assertBadRequest("   ", null);
+        assertBadRequest("a".repeat(201), null);
+        assertBadRequest("acme", "not base64!");
+        assertBadRequest("acme", encode("-1"));
+        assertBadRequest("acme", encode("1000"));
+        assertBadRequest("acme", encode("ten"));
+
+        verifyNoInteractions(jobApplicationRepository);
+    }
+
+    private void assertBadRequest(String query, String cursor) {
+        ApplicationException thrown = assertThrows(ApplicationException.class,
+                () -> searchService.searchApplications(USER, query, cursor, null));
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getHttpStatus());
+    }
+
+    private static List<JobApplicationEntity> applications(int count) {
+        UserEntity owner = new UserEntity();
+        owner.setId(USER.id());
+        List<JobApplicationEntity> applications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            JobApplicationEntity application = new JobApplicationEntity();
+            application.setId(UUID.randomUUID());
+            application.setUser(owner);
+            application.setJob_title("Engineer " + i);
+            applications.add(application);
+        }
+        return applications;
+    }
+
+    private static String encode(String offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(offset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.server.serviceTests;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.server.entities.JobApplicationEntity;
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.job_application.ApplicationNotFound;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.repositories.JobApplicationRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.S3Service;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs without a test-managed transaction, so every service call commits and
+// the second-level cache sees the same lifecycle it does in production.
+@ServiceSliceTest
+public class SecondLevelCacheTest {
+
+    private static final String USER_APPLICATIONS_REGION = "userJobApplications";
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    @MockitoBean
+    private ServiceMetrics serviceMetrics;
+
+    private AuthenticatedUser owner;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedReads_ShouldBeServedFromSecondLevelCache() {
+        UUID id = createApplication("Engineer");
+        entityManagerFactory.getCache().evictAll();
+
+        jobApplicationService.getJobApplication(id.toString(), owner);
+        jobApplicationService.getJobApplication(id.toString(), owner);
+
+        assertTrue(entityManagerFactory.getCache().contains(JobApplicationEntity.class, id));
+        assertEquals(1, statistics.getDomainDataRegionStatistics("jobApplications").getHitCount());
+    }
+
+    @Test
+    void updateThroughService_ShouldRefreshTheCachedEntry() {
+        UUID id = createApplication("Engineer");
+        jobApplicationService.getJobApplication(id.toString(), owner);
+
+        jobApplicationService.updateApplication(
+                id.toString(), owner, "Staff Engineer", null, null, "INTERVIEW", null, null, null, null, null, null);
+
+        statistics.clear();
+        var reloaded = jobApplicationService.getJobApplication(id.toString(), owner);
+
+        assertEquals("Staff Engineer", reloaded.getJob_title());
+        assertEquals(StatusEnum.INTERVIEW, reloaded.getStatus());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("jobApplications").getHitCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void deleteThroughService_ShouldEvictEntryAndOwnerCollection() {
+        UUID keep = createApplication("Engineer");
+        UUID removed = createApplication("Designer");
+        assertEquals(2, loadUserCollectionSize());
+        jobApplicationService.getJobApplication(keep.toString(), owner);
+        jobApplicationService.getJobApplication(removed.toString(), owner);
+
+        jobApplicationService.deleteApplication(removed.toString(), owner);
+
+        // The deleted entry is no longer served from the cache, the untouched one still is.
+        statistics.clear();
+        assertThrows(ApplicationNotFound.class, () -> jobApplicationService.getJobApplication(removed.toString(), owner));
+        assertEquals(0, statistics.getDomainDataRegionStatistics("jobApplications").getHitCount());
+        jobApplicationService.getJobApplication(keep.toString(), owner);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("jobApplications").getHitCount());
+
+        assertCollectionReloadedWithSize(1);
+    }
+
+    @Test
+    void createThroughService_ShouldEvictOwnerCollection() {
+        createApplication("Engineer");
+        assertEquals(1, loadUserCollectionSize());
+
+        // A second read is a hit, so the collection really is cached.
+        statistics.clear();
+        assertEquals(1, loadUserCollectionSize());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(USER_APPLICATIONS_REGION).getHitCount());
+
+        createApplication("Designer");
+
+        assertCollectionReloadedWithSize(2);
+    }
+
+    // The evicted collection must come from the database again and reflect the write.
+    private void assertCollectionReloadedWithSize(int expectedSize) {
+        statistics.clear();
+        assertEquals(expectedSize, loadUserCollectionSize());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(USER_APPLICATIONS_REGION).getHitCount());
+        assertEquals(1, statistics.getCollectionLoadCount());
+    }
+
+    private UUID createApplication(String title) {
+        return jobApplicationService.createApplication(
+                owner, title, "Acme", "Remote", "APPLIED", "https://example.org/job", null, null, null, null
+        ).getId();
+    }
+
+    private int loadUserCollectionSize() {
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(UserEntity.class, owner.id()).getJobApplications().size();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.dtos.UserDto;
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.file.FileNotValid;
+import org.example.server.exceptions.user.UserAlreadyExistsException;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.example.server.mappers.UserMapper;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.metrics.ServiceTimingInterceptor;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.UserLookupService;
+import org.example.server.services.UserService;
+import org.example.server.services.UserSummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({JobApplicationService.class, UserSummaryService.class, JobApplicationMapperImpl.class, ServiceMetrics.class, SimpleMeterRegistry.class})
+public class ServiceMetricsTest {
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    @Test
+    void shouldCountRejectedUploads_BeforeAnythingReachesS3() {
+        UserEntity user = new UserEntity();
+        user.setAuth0_id("auth0|" + UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Metrics Test");
+        user = userRepository.save(user);
+        AuthenticatedUser owner = new AuthenticatedUser(user.getId(), user.getAuth0_id(), user.getEmail(), user.getName());
+        MockMultipartFile executable = new MockMultipartFile("cover_letter_file", "letter.exe", "application/octet-stream", new byte[]{1});
+
+        // Act
+
+        assertThrows(FileNotValid.class, () -> jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", null, executable, null, null));
+
+        // Assert
+
+        assertEquals(1, meterRegistry.get("jobtracker.uploads.rejected").tag("document", "cover_letter").counter().count());
+        assertEquals(0, meterRegistry.get("jobtracker.uploads.rejected").tag("document", "resume").counter().count());
+        verify(documentService, never()).storeAll(any(), any(), any());
+    }
+
+    @Test
+    void shouldTimeServiceCalls_ByOutcome() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        UserRepository users = mock(UserRepository.class);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.userDtoToUser(any())).thenReturn(new UserEntity());
+        when(users.existsByAuth0_id("auth0|existing")).thenReturn(true);
+
+        ProxyFactory proxyFactory = new ProxyFactory(new UserService(users, userMapper, mock(UserSummaryService.class), mock(UserLookupService.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ServiceTimingInterceptor(() -> registry, UserService.class));
+        UserService userService = (UserService) proxyFactory.getProxy();
+
+        // Act
+
+        userService.createUser("auth0|new", new UserDto());
+        assertThrows(UserAlreadyExistsException.class, () -> userService.createUser("auth0|existing", new UserDto()));
+
+        // Assert
+
+        assertEquals(1, registry.get("jobtracker.service.calls").tags("method", "createUser", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("jobtracker.service.calls").tags("method", "createUser", "outcome", "error").timer().count());
+    }
+}
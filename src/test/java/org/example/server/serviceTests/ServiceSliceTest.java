@@ -0,0 +1,41 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.mappers.JobApplicationMapperImpl;
+import org.example.server.mappers.UserMapperImpl;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.UserLookupService;
+import org.example.server.services.UserService;
+import org.example.server.services.UserSummaryService;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The JPA slice the service suites run in: the application services over H2, with no test-managed
+// transaction, so each service call commits on its own as it does in production. Suites @Import the
+// extra services they test on top, and get their owners from TestUsers. DocumentService is left out:
+// suites either mock it or import it with an in-memory S3.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JobApplicationService.class, UserSummaryService.class, JobApplicationMapperImpl.class,
+        UserService.class, UserMapperImpl.class, UserLookupService.class, ServiceMetrics.class, SimpleMeterRegistry.class,
+        TestUsers.class})
+public @interface ServiceSliceTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
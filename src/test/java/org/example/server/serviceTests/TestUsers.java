@@ -0,0 +1,33 @@
+package org.example.server.serviceTests;
+
+import org.example.server.dtos.UserDto;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.UserLookupService;
+import org.example.server.services.UserService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.UUID;
+
+// Signs up a fresh user the way the app does (UserService.createUser, summary row included) and
+// resolves them like the security filter would, so every suite starts from the same kind of owner.
+@TestComponent
+public class TestUsers {
+
+    private final UserService userService;
+
+    private final UserLookupService userLookupService;
+
+    public TestUsers(UserService userService, UserLookupService userLookupService) {
+        this.userService = userService;
+        this.userLookupService = userLookupService;
+    }
+
+    public AuthenticatedUser create() {
+        String auth = "auth0|" + UUID.randomUUID();
+        UserDto user = new UserDto();
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Test User");
+        userService.createUser(auth, user);
+        return userLookupService.resolve(auth);
+    }
+}
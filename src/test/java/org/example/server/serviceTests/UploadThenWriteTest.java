@@ -0,0 +1,229 @@
+package org.example.server.serviceTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.server.dtos.JobApplicationDto;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.repositories.DocumentRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Create & update hash and upload the documents first, all at once, and only then open the
+// transaction for the db write. Runs the real DocumentService & S3Service against the in-memory S3.
+@ServiceSliceTest(properties = {"aws.bucket.name=documents", "aws.upload.orphan-grace=500ms"})
+@Import({DocumentService.class, UploadThenWriteTest.FakeS3.class})
+public class UploadThenWriteTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    // Both request bodies have to be read at the same time for either upload to get through.
+    private static volatile CountDownLatch bothUploading;
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(4);
+
+    @TestConfiguration
+    static class FakeS3 {
+
+        @Bean
+        FakeS3Client fakeS3Client() {
+            return new FakeS3Client();
+        }
+
+        @Bean
+        S3Service s3Service(FakeS3Client store) {
+            ExecutorService uploads = new AbstractExecutorService() {
+                @Override
+                public void execute(Runnable task) {
+                    CountDownLatch latch = bothUploading;
+                    POOL.execute(() -> {
+                        latch.countDown();
+                        try {
+                            if (latch.await(5, TimeUnit.SECONDS)) {
+                                task.run();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+
+                @Override
+                public void shutdown() {
+                }
+
+                @Override
+                public List<Runnable> shutdownNow() {
+                    return List.of();
+                }
+
+                @Override
+                public boolean isShutdown() {
+                    return false;
+                }
+
+                @Override
+                public boolean isTerminated() {
+                    return false;
+                }
+
+                @Override
+                public boolean awaitTermination(long timeout, TimeUnit unit) {
+                    return true;
+                }
+            };
+            return new S3Service(store, new FakeS3AsyncClient(store, Duration.ofMillis(20)), uploads, null,
+                    new ServiceMetrics(new SimpleMeterRegistry()));
+        }
+    }
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private FakeS3Client fakeS3Client;
+
+    private final List<Boolean> transactionOpenDuringUpload = Collections.synchronizedList(new ArrayList<>());
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        bothUploading = new CountDownLatch(2);
+
+        owner = testUsers.create();
+
+        fakeS3Client.beforeHead(() -> transactionOpenDuringUpload.add(TransactionSynchronizationManager.isActualTransactionActive()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fakeS3Client.beforeHead(() -> {});
+    }
+
+    @Test
+    void bothDocuments_ShouldUploadInParallel_BeforeTheTransactionOpens() {
+        MockMultipartFile resume = pdf("resume.pdf", "%PDF-1.7 parallel resume");
+        MockMultipartFile coverLetter = pdf("cover.pdf", "%PDF-1.7 parallel cover letter");
+
+        JobApplicationDto created = jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", "https://example.org/job", resume, coverLetter, null, null);
+
+        // Assert: the latch only opens when both bodies are read at once, so both landing proves it
+
+        assertTrue(s3Service.exists(created.getResume_url()));
+        assertTrue(s3Service.exists(created.getCover_letter_url()));
+        assertEquals(1, documentRepository.findById(created.getResume_url()).orElseThrow().getRef_count());
+
+        // The existence checks ran on the request thread with no transaction (so no connection) open
+        assertFalse(transactionOpenDuringUpload.isEmpty());
+        assertFalse(transactionOpenDuringUpload.contains(true));
+    }
+
+    @Test
+    void theSameDocumentAttachedAgain_ShouldCountOneMoreReference() {
+        bothUploading = new CountDownLatch(1);
+        JobApplicationDto first = jobApplicationService.createApplication(owner, "Engineer", "Acme", "Remote", "APPLIED",
+                "https://example.org/job", pdf("resume.pdf", "%PDF-1.7 shared resume"), null, null, null);
+
+        // Act: the second attach finds the object in S3 and only counts the reference
+
+        JobApplicationDto second = jobApplicationService.createApplication(owner, "Engineer", "Initech", "Remote", "APPLIED",
+                "https://example.org/job", pdf("resume.pdf", "%PDF-1.7 shared resume"), null, null, null);
+
+        // Assert
+
+        assertEquals(first.getResume_url(), second.getResume_url());
+        assertEquals(2, documentRepository.findById(first.getResume_url()).orElseThrow().getRef_count());
+        jobApplicationService.deleteApplication(first.getId().toString(), owner);
+        assertEquals(1, documentRepository.findById(first.getResume_url()).orElseThrow().getRef_count());
+    }
+
+    @Test
+    void aFailedWrite_ShouldRemoveTheFreshUploads() throws InterruptedException {
+        Set<String> before = fakeS3Client.keys();
+        long documentRows = documentRepository.count();
+        MockMultipartFile resume = pdf("resume.pdf", "%PDF-1.7 orphaned resume");
+        MockMultipartFile coverLetter = pdf("cover.pdf", "%PDF-1.7 orphaned cover letter");
+
+        // Act: job_post_url is NOT NULL, so the insert fails after both files are in S3
+
+        assertThrows(DataIntegrityViolationException.class, () -> jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", null, resume, coverLetter, null, null));
+
+        // Assert: both were uploaded, nothing references them, and the deletes (sent once the grace
+        //         period is over) removed both objects again
+
+        assertEquals(0, bothUploading.getCount());
+        assertEquals(documentRows, documentRepository.count());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!newObjects(before).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Set.of(), newObjects(before));
+    }
+
+    @Test
+    void anUploadAttachedByAnotherRequest_ShouldOutliveTheFailedWrite() throws InterruptedException {
+        Set<String> before = fakeS3Client.keys();
+        MockMultipartFile resume = pdf("resume.pdf", "%PDF-1.7 contended resume");
+        MockMultipartFile coverLetter = pdf("cover.pdf", "%PDF-1.7 contended cover letter");
+        assertThrows(DataIntegrityViolationException.class, () -> jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", "APPLIED", null, resume, coverLetter, null, null));
+
+        // Act: within the grace period, another request finds the resume in S3 and skips its PUT
+
+        JobApplicationDto attached = jobApplicationService.createApplication(owner, "Engineer", "Initech", "Remote", "APPLIED",
+                "https://example.org/job", pdf("resume.pdf", "%PDF-1.7 contended resume"), null, null, null);
+
+        // Assert: only the cover letter, which nobody took up, is deleted
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (newObjects(before).size() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Set.of(attached.getResume_url()), newObjects(before));
+    }
+
+    private Set<String> newObjects(Set<String> before) {
+        Set<String> keys = new HashSet<>(fakeS3Client.keys());
+        keys.removeAll(before);
+        return keys;
+    }
+
+    private static MockMultipartFile pdf(String name, String content) {
+        return new MockMultipartFile(name, name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.server.serviceTests;
+
+import org.example.server.entities.DocumentEntity;
+import org.example.server.entities.UserEntity;
+import org.example.server.entities.UserSummaryEntity;
+import org.example.server.repositories.DocumentRepository;
+import org.example.server.repositories.UserRepository;
+import org.example.server.repositories.UserSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The ON CONFLICT statements the native upserts send in production. The other suites run on H2,
+// which gets a MERGE instead, so this is the only place the Postgres SQL itself is executed.
+// Needs Docker, and is skipped where there is none.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UpsertPostgresTest {
+
+    private static final int THREADS = 8;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertIfAbsent_ShouldKeepTheFirstRow() {
+        UUID userId = newUser();
+
+        int first = transactionTemplate.execute(status -> userSummaryRepository.insertIfAbsent(summary(userId, 3)));
+        int second = transactionTemplate.execute(status -> userSummaryRepository.insertIfAbsent(summary(userId, 5)));
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(3, userSummaryRepository.findById(userId).orElseThrow().getTotal_applications());
+    }
+
+    @Test
+    void concurrentInsertIfAbsent_ShouldInsertOnce() throws Exception {
+        UUID userId = newUser();
+
+        List<Integer> inserted = concurrently(() ->
+                transactionTemplate.execute(status -> userSummaryRepository.insertIfAbsent(summary(userId, 0))));
+
+        assertEquals(1, inserted.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void addReference_ShouldInsertThenIncrement() {
+        String key = "documents/" + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> documentRepository.addReference(document(key)));
+        transactionTemplate.executeWithoutResult(status -> documentRepository.addReference(document(key)));
+
+        assertEquals(2, documentRepository.findById(key).orElseThrow().getRef_count());
+    }
+
+    @Test
+    void concurrentFirstReferences_ShouldAllBeCounted() throws Exception {
+        String key = "documents/" + UUID.randomUUID();
+
+        concurrently(() -> {
+            transactionTemplate.executeWithoutResult(status -> documentRepository.addReference(document(key)));
+            return 1;
+        });
+
+        assertEquals(THREADS, documentRepository.findById(key).orElseThrow().getRef_count());
+    }
+
+    // Starts @call on every thread at once, so the inserts race for the same key.
+    private <T> List<T> concurrently(Callable<T> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private UUID newUser() {
+        UserEntity user = new UserEntity();
+        user.setAuth0_id("auth0|" + UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@example.org");
+        user.setName("Upsert Test");
+        return userRepository.save(user).getId();
+    }
+
+    private static UserSummaryEntity summary(UUID userId, long total) {
+        UserSummaryEntity summary = new UserSummaryEntity();
+        summary.setUser_id(userId);
+        summary.setTotal_applications(total);
+        return summary;
+    }
+
+    private static DocumentEntity document(String key) {
+        DocumentEntity document = new DocumentEntity();
+        document.setS3_key(key);
+        document.setSha256("0".repeat(64));
+        document.setContent_type("application/pdf");
+        document.setSize_bytes(4);
+        document.setRef_count(1);
+        document.setCreated_at(LocalDateTime.now());
+        return document;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.server.serviceTests;
+
+import org.example.server.entities.UserEntity;
+import org.example.server.exceptions.ApplicationException;
+import org.example.server.exceptions.user.UserNotFoundException;
+import org.example.server.repositories.UserRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.security.CurrentUserArgumentResolver;
+import org.example.server.services.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserLookupServiceTest {
+
+    private static final String AUTH0_ID = "auth0|lookup";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserLookupService userLookupService;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        userLookupService = new UserLookupService(userRepository, 100, Duration.ofMinutes(10));
+
+        user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setAuth0_id(AUTH0_ID);
+        user.setEmail("lookup@example.org");
+        user.setName("Lookup Test");
+    }
+
+    @Test
+    void resolve_ShouldQueryTheUsersTableOnlyOnce() {
+        when(userRepository.findByAuth0_id(AUTH0_ID)).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = userLookupService.resolve(AUTH0_ID);
+        AuthenticatedUser second = userLookupService.resolve(AUTH0_ID);
+
+        assertEquals(new AuthenticatedUser(user.getId(), AUTH0_ID, "lookup@example.org", "Lookup Test"), first);
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByAuth0_id(AUTH0_ID);
+    }
+
+    @Test
+    void aMiss_ShouldNotBeCached_SoASignUpIsSeenOnTheNextRequest() {
+        when(userRepository.findByAuth0_id(AUTH0_ID)).thenReturn(Optional.empty(), Optional.of(user));
+
+        assertThrows(UserNotFoundException.class, () -> userLookupService.resolve(AUTH0_ID));
+
+        assertEquals(user.getId(), userLookupService.resolve(AUTH0_ID).id());
+        verify(userRepository, times(2)).findByAuth0_id(AUTH0_ID);
+    }
+
+    @Test
+    void evict_ShouldForceAReload() {
+        when(userRepository.findByAuth0_id(AUTH0_ID)).thenReturn(Optional.of(user));
+        userLookupService.resolve(AUTH0_ID);
+
+        user.setName("Renamed");
+        userLookupService.evict(AUTH0_ID);
+
+        assertEquals("Renamed", userLookupService.resolve(AUTH0_ID).name());
+        verify(userRepository, times(2)).findByAuth0_id(AUTH0_ID);
+    }
+
+    @Test
+    void resolver_ShouldResolveOncePerRequest() {
+        when(userRepository.findByAuth0_id(AUTH0_ID)).thenReturn(Optional.of(user));
+        CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver(userLookupService);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.setUserPrincipal(() -> AUTH0_ID);
+        ServletWebRequest request = new ServletWebRequest(servletRequest);
+
+        AuthenticatedUser first = resolver.resolveArgument(null, null, request, null);
+        userLookupService.evict(AUTH0_ID);
+        AuthenticatedUser second = resolver.resolveArgument(null, null, request, null);
+
+        // Assert: the second parameter in the same request comes from the request attribute
+
+        assertSame(first, second);
+        assertSame(first, servletRequest.getAttribute(CurrentUserArgumentResolver.REQUEST_ATTRIBUTE));
+        verify(userRepository, times(1)).findByAuth0_id(AUTH0_ID);
+    }
+
+    @Test
+    void resolver_WithoutAPrincipal_ShouldBeUnauthorized() {
+        CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver(userLookupService);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        ApplicationException thrown = assertThrows(ApplicationException.class,
+                () -> resolver.resolveArgument(null, null, request, null));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, thrown.getHttpStatus());
+        verifyNoInteractions(userRepository);
+    }
+}
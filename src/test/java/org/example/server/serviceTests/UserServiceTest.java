@@ -5,7 +5,9 @@ import org.example.server.entities.UserEntity;
 import org.example.server.exceptions.user.UserAlreadyExistsException;
 import org.example.server.mappers.UserMapper;
 import org.example.server.repositories.UserRepository;
+import org.example.server.services.UserLookupService;
 import org.example.server.services.UserService;
+import org.example.server.services.UserSummaryService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -28,6 +30,12 @@ public class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserSummaryService userSummaryService;
+
+    @Mock
+    private UserLookupService userLookupService;
+
 
     @Test
     void shouldThrowException_WhenUserAlreadyExists() {
@@ -63,6 +71,8 @@ public class UserServiceTest {
         // Assert
 
         verify(userRepository, times(1)).save(user);
+        verify(userSummaryService, times(1)).initialize(user.getId());
+        verify(userLookupService, times(1)).evict(auth0Id);
         assertEquals(auth0Id, user.getAuth0_id());
     }
 }
@@ -0,0 +1,118 @@
+package org.example.server.serviceTests;
+
+import org.example.server.entities.StatusEnum;
+import org.example.server.entities.UserSummaryEntity;
+import org.example.server.repositories.UserSummaryRepository;
+import org.example.server.security.AuthenticatedUser;
+import org.example.server.services.AggregationService;
+import org.example.server.services.DocumentService;
+import org.example.server.services.JobApplicationService;
+import org.example.server.services.UserSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ServiceSliceTest
+@Import(AggregationService.class)
+public class UserSummaryServiceTest {
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private AggregationService aggregationService;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private DocumentService documentService;
+
+    private AuthenticatedUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = testUsers.create();
+    }
+
+    @Test
+    void theDashboard_ShouldCommitTheBackfilledRow() {
+        create("APPLIED");
+        create("INTERVIEW");
+        create("SAVED");
+        userSummaryRepository.deleteById(owner.id());
+
+        assertEquals(3, aggregationService.getDashboard(owner, 12).getTotal_applications());
+
+        // Assert: the row was committed, not just read back
+
+        UserSummaryEntity stored = userSummaryRepository.findById(owner.id()).orElseThrow();
+        assertEquals(3, stored.getTotal_applications());
+        assertEquals(1, stored.getApplied_count());
+        assertEquals(1, stored.getInterview_count());
+        assertEquals(1, stored.getSaved_count());
+    }
+
+    @Test
+    void aBackfill_InsideAReadOnlyTransaction_ShouldBeRefused() {
+        userSummaryRepository.deleteById(owner.id());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> readOnly.executeWithoutResult(status -> userSummaryService.getSummary(owner.id())));
+        assertTrue(userSummaryRepository.findById(owner.id()).isEmpty());
+    }
+
+    @Test
+    void aWrite_WithoutASummaryRow_ShouldBackfillIncludingItself() {
+        create("APPLIED");
+        userSummaryRepository.deleteById(owner.id());
+
+        create("OFFER");
+
+        UserSummaryEntity stored = userSummaryRepository.findById(owner.id()).orElseThrow();
+        assertEquals(2, stored.getTotal_applications());
+        assertEquals(1, stored.getOffer_count());
+    }
+
+    @Test
+    void insertIfAbsent_ShouldLeaveAnExistingRowAlone() {
+        transactionTemplate.executeWithoutResult(status -> userSummaryService.recordCreated(owner.id(), StatusEnum.APPLIED));
+
+        UserSummaryEntity racing = new UserSummaryEntity();
+        racing.setUser_id(owner.id());
+        racing.setSaved_count(99);
+        racing.setTotal_applications(99);
+        racing.setLast_activity_at(LocalDateTime.now());
+
+        int inserted = transactionTemplate.execute(status -> userSummaryRepository.insertIfAbsent(racing));
+
+        assertEquals(0, inserted);
+        UserSummaryEntity stored = userSummaryRepository.findById(owner.id()).orElseThrow();
+        assertEquals(1, stored.getTotal_applications());
+        assertEquals(0, stored.getSaved_count());
+    }
+
+    private void create(String status) {
+        jobApplicationService.createApplication(
+                owner, "Engineer", "Acme", "Remote", status, "https://example.org/job", null, null, null, null
+        );
+    }
+}
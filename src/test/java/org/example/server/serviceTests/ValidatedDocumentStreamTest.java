@@ -0,0 +1,110 @@
+package org.example.server.serviceTests;
+
+import org.example.server.documents.DocumentRejectedException;
+import org.example.server.documents.DocumentType;
+import org.example.server.documents.ValidatedDocumentStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidatedDocumentStreamTest {
+
+    @Test
+    void aValidDocument_ShouldReadBackUnchanged_SniffedBytesIncluded() throws IOException {
+        byte[] pdf = pdf(2000);
+
+        try (ValidatedDocumentStream stream = ValidatedDocumentStream.open(new ByteArrayInputStream(pdf), "resume.PDF", 5000)) {
+            assertEquals(DocumentType.PDF, stream.getType());
+            assertArrayEquals(pdf, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void theSizeLimit_ShouldApplyToTheBytesRead() throws IOException {
+        byte[] exact = pdf(1024);
+        try (ValidatedDocumentStream stream = ValidatedDocumentStream.open(new ByteArrayInputStream(exact), "resume.pdf", 1024)) {
+            assertEquals(1024, stream.readAllBytes().length);
+        }
+
+        // One byte over fails while reading, whatever the client declared up front
+        ValidatedDocumentStream tooLarge = ValidatedDocumentStream.open(new ByteArrayInputStream(pdf(1025)), "resume.pdf", 1024);
+        assertThrows(DocumentRejectedException.class, () -> tooLarge.transferTo(OutputStream.nullOutputStream()));
+
+        ValidatedDocumentStream byteByByte = ValidatedDocumentStream.open(new ByteArrayInputStream(pdf(1025)), "resume.pdf", 1024);
+        assertThrows(DocumentRejectedException.class, () -> {
+            while (byteByByte.read() >= 0) {
+                // drain
+            }
+        });
+    }
+
+    @Test
+    void magicBytes_ShouldMatchTheExtension() throws IOException {
+        byte[] docx = {'P', 'K', 0x03, 0x04, 1, 2, 3};
+        byte[] doc = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1, 0};
+
+        assertEquals(DocumentType.DOCX, ValidatedDocumentStream.open(new ByteArrayInputStream(docx), "cv.docx", 100).getType());
+        assertEquals(DocumentType.DOC, ValidatedDocumentStream.open(new ByteArrayInputStream(doc), "cv.doc", 100).getType());
+
+        // A zip renamed to .pdf, a PDF renamed to .docx, and a file shorter than the signature
+        assertRejected(docx, "cv.pdf");
+        assertRejected(pdf(100), "cv.docx");
+        assertRejected("%PD".getBytes(StandardCharsets.US_ASCII), "cv.pdf");
+    }
+
+    @Test
+    void text_ShouldBeRejectedForANulByteInTheSniffedHead() throws IOException {
+        byte[] text = "Dear hiring manager,\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(DocumentType.TXT, ValidatedDocumentStream.open(new ByteArrayInputStream(text), "letter.txt", 100).getType());
+        assertEquals(DocumentType.TXT, ValidatedDocumentStream.open(new ByteArrayInputStream(new byte[0]), "empty.txt", 100).getType());
+
+        byte[] binary = Arrays.copyOf(text, 40);
+        assertRejected(binary, "letter.txt");
+
+        byte[] nulAtTheEdge = new byte[DocumentType.SNIFF_LENGTH];
+        Arrays.fill(nulAtTheEdge, (byte) 'a');
+        nulAtTheEdge[DocumentType.SNIFF_LENGTH - 1] = 0;
+        assertRejected(nulAtTheEdge, "letter.txt");
+    }
+
+    @Test
+    void anUnsupportedExtension_ShouldBeRejected() {
+        assertRejected(pdf(100), "resume.exe");
+        assertRejected(pdf(100), "resume");
+        assertRejected(pdf(100), null);
+    }
+
+    @Test
+    void aRejectedDocument_ShouldCloseTheStreamItWasGiven() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream in = new ByteArrayInputStream(new byte[]{'P', 'K', 0x03, 0x04}) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertThrows(DocumentRejectedException.class, () -> ValidatedDocumentStream.open(in, "resume.pdf", 100));
+        assertTrue(closed.get());
+    }
+
+    private static void assertRejected(byte[] content, String filename) {
+        assertThrows(DocumentRejectedException.class,
+                () -> ValidatedDocumentStream.open(new ByteArrayInputStream(content), filename, 10_000));
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) 'x');
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 8);
+        return content;
+    }
+}
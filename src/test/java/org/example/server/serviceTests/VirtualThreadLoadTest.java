@@ -0,0 +1,135 @@
+package org.example.server.serviceTests;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.server.datasource.ConcurrencyLimitedDataSource;
+import org.example.server.metrics.ServiceMetrics;
+import org.example.server.services.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the same request shape (one query, then a document download from a slow S3) on a
+// Tomcat-sized platform pool and on virtual threads behind the connection limiter.
+// Run with: mvn test -Pload-test
+@Slf4j
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 2000;
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final int POOL_SIZE = 10;
+
+    private static final Duration S3_LATENCY = Duration.ofMillis(100);
+
+    private static final String KEY = "documents/" + "b".repeat(64) + ".pdf";
+
+    private HikariDataSource hikari;
+
+    private S3Service s3Service;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        hikari.setMaximumPoolSize(POOL_SIZE);
+        hikari.setConnectionTimeout(30_000);
+
+        FakeS3Client s3Client = new FakeS3Client();
+        s3Client.put(KEY, "%PDF-1.7 load test".getBytes(), "application/pdf");
+        s3Client.beforeBodyGet(() -> sleep(S3_LATENCY));
+        s3Service = new S3Service(s3Client, null, null, null, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Service, "bucketName", "documents");
+    }
+
+    @AfterEach
+    void tearDown() {
+        hikari.close();
+    }
+
+    @Test
+    void virtualThreadsShouldOutrunThePlatformPool_WithinTheConnectionLimit() throws Exception {
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(hikari, POOL_SIZE, Duration.ofSeconds(30));
+
+        // Act
+
+        double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), hikari);
+        peakInFlight.set(0);
+        double virtual = run(Executors.newVirtualThreadPerTaskExecutor(), limited);
+
+        // Assert
+
+        log.info("platform threads ({}): {} req/s, virtual threads: {} req/s", TOMCAT_MAX_THREADS, Math.round(platform), Math.round(virtual));
+        assertTrue(virtual > platform * 2, "virtual " + virtual + " req/s vs platform " + platform + " req/s");
+        assertTrue(peakInFlight.get() <= POOL_SIZE, "peak connections " + peakInFlight.get());
+        assertEquals(POOL_SIZE, limited.availablePermits());
+    }
+
+    // Returns requests per second.
+    private double run(ExecutorService executor, DataSource dataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> requests = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                requests.add(executor.submit(() -> handle(jdbcTemplate)));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+        return REQUESTS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void handle(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute((Connection connection) -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (var statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return null;
+        });
+
+        try {
+            s3Service.openDownload(KEY, null, null, null).body().writeTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}